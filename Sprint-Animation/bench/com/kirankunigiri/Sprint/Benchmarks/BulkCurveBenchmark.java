@@ -0,0 +1,58 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.Interpolators.EasingInterpolator;
+import com.kirankunigiri.Sprint.Interpolators.EasingMode;
+import com.kirankunigiri.Sprint.Interpolators.Precision;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures the throughput of the bulk curve(in, out, from, to) for every interpolator
+ * in every easing mode and both precision modes. One operation is one curved value,
+ * so the scores compare directly with InterpolatorBenchmark.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BulkCurveBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"BackInterpolator", "BounceInterpolator", "CircularInterpolator", "CubicInterpolator", "ElasticInterpolator",
+            "ExponentialInterpolator", "QuadraticInterpolator", "QuarticInterpolator", "QuinticInterpolator", "SineInterpolator"})
+    public String interpolator;
+
+    @Param({"EASE_IN", "EASE_OUT", "EASE_BOTH"})
+    public EasingMode easingMode;
+
+    @Param({"EXACT", "FAST"})
+    public Precision precision;
+
+    private EasingInterpolator instance;
+    private final double[] values = new double[VALUES];
+    private final double[] results = new double[VALUES];
+
+    @Setup
+    public void setup() {
+        instance = InterpolatorBenchmark.create(interpolator);
+        instance.setEasingMode(easingMode);
+        instance.setPrecision(precision);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = (i + 0.5) / VALUES;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public double[] curve() {
+        instance.curve(values, results, 0, VALUES);
+        return results;
+    }
+}
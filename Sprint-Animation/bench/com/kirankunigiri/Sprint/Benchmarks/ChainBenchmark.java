@@ -0,0 +1,73 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.EngineMode;
+import com.kirankunigiri.Sprint.ManualClock;
+import com.kirankunigiri.Sprint.Sprint;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures how fast Sprint chains are built. One operation builds a chain
+ * of 10 calls. In the TIMELINE mode the chain is built but not played,
+ * since playing needs the JavaFX toolkit. In the PULSE mode the chain is
+ * also handed to a manual clock, which is advanced now and then so the
+ * engine can reuse finished runs.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ChainBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+
+    @Param({"TIMELINE", "PULSE"})
+    public EngineMode engineMode;
+
+    private final Rectangle node = new Rectangle(10, 10);
+    private ManualClock clock;
+    private int built;
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+    }
+
+    @TearDown(Level.Iteration)
+    public void finishRuns() {
+        clock.advance(10 * FRAME);
+    }
+
+    @Benchmark
+    public Sprint build10() {
+        Sprint sprint = new Sprint(node);
+        if (engineMode == EngineMode.PULSE) {
+            sprint.setClock(clock);
+        }
+        sprint.moveTo(0.5, 100, 50)
+                .fadeTo(0.5, 0.5)
+                .scaleTo(0.5, 2, 2)
+                .wait(0.1)
+                .rotateTo(0.5, 90)
+                .fillColorTo(0.5, Color.RED)
+                .wait(0.1)
+                .moveTo(0.5, 0, 0)
+                .fadeTo(0.5, 1)
+                .scaleTo(0.5, 1, 1);
+        if (engineMode == EngineMode.PULSE) {
+            sprint.sprint();
+            if ((++built & 1023) == 0) {
+                clock.advance(10 * FRAME);
+            }
+        }
+        return sprint;
+    }
+}
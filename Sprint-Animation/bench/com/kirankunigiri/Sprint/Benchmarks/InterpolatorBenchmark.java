@@ -0,0 +1,80 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.Interpolators.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures the throughput of curve() for every interpolator in every easing mode,
+ * both reading its properties on every call and frozen into its compiled form.
+ * The fast precision mode only changes the curves with transcendental functions
+ * (Elastic, Exponential and Sine). One operation is one evaluation of the curve.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InterpolatorBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"BackInterpolator", "BounceInterpolator", "CircularInterpolator", "CubicInterpolator", "ElasticInterpolator",
+            "ExponentialInterpolator", "QuadraticInterpolator", "QuarticInterpolator", "QuinticInterpolator", "SineInterpolator"})
+    public String interpolator;
+
+    @Param({"EASE_IN", "EASE_OUT", "EASE_BOTH"})
+    public EasingMode easingMode;
+
+    @Param({"EXACT", "FAST"})
+    public Precision precision;
+
+    @Param({"false", "true"})
+    public boolean frozen;
+
+    private EasingInterpolator instance;
+    private final double[] values = new double[VALUES];
+    private int index;
+
+    @Setup
+    public void setup() {
+        instance = create(interpolator);
+        instance.setEasingMode(easingMode);
+        instance.setPrecision(precision);
+        instance.setFrozen(frozen);
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = (i + 0.5) / VALUES;
+        }
+    }
+
+    @Benchmark
+    public double curve() {
+        return instance.interpolate(0.0, 1.0, values[index++ & (VALUES - 1)]);
+    }
+
+    /**
+     * Creates an interpolator from the name of its class
+     * @param name The simple name of the class
+     * @return A new interpolator with the default settings
+     */
+    static EasingInterpolator create(String name) {
+        switch (name) {
+            case "BackInterpolator": return new BackInterpolator();
+            case "BounceInterpolator": return new BounceInterpolator();
+            case "CircularInterpolator": return new CircularInterpolator();
+            case "CubicInterpolator": return new CubicInterpolator();
+            case "ElasticInterpolator": return new ElasticInterpolator();
+            case "ExponentialInterpolator": return new ExponentialInterpolator();
+            case "QuadraticInterpolator": return new QuadraticInterpolator();
+            case "QuarticInterpolator": return new QuarticInterpolator();
+            case "QuinticInterpolator": return new QuinticInterpolator();
+            case "SineInterpolator": return new SineInterpolator();
+            default: throw new IllegalArgumentException("Unknown interpolator " + name);
+        }
+    }
+}
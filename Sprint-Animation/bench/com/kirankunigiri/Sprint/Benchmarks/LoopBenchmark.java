@@ -0,0 +1,62 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.Interpolators.BackInterpolator;
+import com.kirankunigiri.Sprint.Interpolators.ElasticInterpolator;
+import com.kirankunigiri.Sprint.Interpolators.SineInterpolator;
+import com.kirankunigiri.Sprint.ManualClock;
+import com.kirankunigiri.Sprint.Sprint;
+import javafx.animation.Interpolator;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures the cost of one pulse with endless looping animations, like the idle
+ * animations of a kiosk, on a manual clock. One operation is one tick of the engine.
+ * Run it with -prof gc to see the garbage created per tick, which LoopAllocationTest
+ * keeps at zero.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LoopBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+
+    @Param({"1000"})
+    public int animations;
+
+    @Param({"true", "false"})
+    public boolean autoReverse;
+
+    private ManualClock clock;
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+        Interpolator[] interpolators = {Interpolator.EASE_BOTH, new ElasticInterpolator(), new BackInterpolator(), new SineInterpolator()};
+        for (int i = 0; i < animations; i++) {
+            new Sprint(new Rectangle(10, 10))
+                    .setClock(clock)
+                    .setInterpolator(interpolators[i % interpolators.length])
+                    .moveTo(0.5 + i % 5 * 0.1, i, i)
+                    .fadeTo(0.5, 0.5)
+                    .wait(0.25)
+                    .rotateBy(1, 90)
+                    .scaleTo(0.75, 1.5, 1.5)
+                    .loop(0, autoReverse);
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        clock.advance(FRAME);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.Interpolators.ElasticInterpolator;
+import com.kirankunigiri.Sprint.ManualClock;
+import com.kirankunigiri.Sprint.SprintBatch;
+import javafx.animation.Interpolator;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures how the throughput of a SprintBatch scales with the number of
+ * workers computing its values, on a manual clock. Zero workers computes
+ * on the calling thread, like the JavaFX thread without a pipeline.
+ * Pass -p workers=... to match the number of cores of the machine.
+ * One operation is one tick of the engine.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+    private static final int NODES = 20000;
+
+    @Param({"0", "1", "2", "4"})
+    public int workers;
+
+    @Param({"EASE_OUT", "ElasticInterpolator"})
+    public String interpolator;
+
+    private ManualClock clock;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+        Interpolator curve = interpolator.equals("EASE_OUT") ? Interpolator.EASE_OUT : new ElasticInterpolator().freeze();
+        SprintBatch batch = new SprintBatch(NODES * 2, clock).setInterpolator(curve);
+        if (workers > 0) {
+            pool = new ForkJoinPool(workers);
+            batch.setPipeline(pool);
+        }
+        for (int i = 0; i < NODES; i++) {
+            batch.moveTo(new Rectangle(10, 10), 1e6, i, i);
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        clock.advance(FRAME);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
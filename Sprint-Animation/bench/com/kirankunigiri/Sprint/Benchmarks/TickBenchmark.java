@@ -0,0 +1,48 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.ManualClock;
+import com.kirankunigiri.Sprint.Sprint;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures the cost of one pulse with N looping animations, on a manual clock.
+ * One operation is one tick of the engine.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+
+    @Param({"100", "1000", "10000"})
+    public int animations;
+
+    private ManualClock clock;
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+        for (int i = 0; i < animations; i++) {
+            new Sprint(new Rectangle(10, 10))
+                    .setClock(clock)
+                    .moveTo(1, i, i)
+                    .fadeTo(1, 0.5)
+                    .loop(0);
+        }
+    }
+
+    @Benchmark
+    public void tick() {
+        clock.advance(FRAME);
+    }
+}
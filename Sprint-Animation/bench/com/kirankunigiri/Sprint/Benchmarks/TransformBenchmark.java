@@ -0,0 +1,110 @@
+package com.kirankunigiri.Sprint.Benchmarks;
+
+import com.kirankunigiri.Sprint.AnimationPlan;
+import com.kirankunigiri.Sprint.ManualClock;
+import com.kirankunigiri.Sprint.Sprint;
+import com.kirankunigiri.Sprint.TransformMode;
+import javafx.beans.InvalidationListener;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures moving and scaling the leaves of a deep scene graph in both transform modes,
+ * on a manual clock. Every group has two children, and every leaf loops a move and a scale.
+ * One operation is one tick of the engine, followed by reading the bounds of the root, which
+ * recomputes the bounds of every group on the way down to the leaves, like a layout pass.
+ * <p/>
+ * Running this class counts how often the groups recompute their bounds, when every
+ * invalidation is read right away, like bound properties and listeners do.
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    private static final long FRAME = 16_666_667L;
+    private static final int COUNT_TICKS = 600;
+
+    @Param({"6", "10"})
+    public int depth;
+
+    @Param({"PROPERTIES", "AFFINE"})
+    public TransformMode transformMode;
+
+    private ManualClock clock;
+    private Group root;
+    private final List<Group> groups = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        clock = new ManualClock();
+        groups.clear();
+        List<Node> leaves = new ArrayList<>();
+        root = build(depth, leaves);
+        Sprint sprint = new Sprint(leaves.get(0)).setClock(clock).setTransformMode(transformMode);
+        AnimationPlan plan = sprint.moveTo(1, 40, 20).scaleTo(1, 1.5, 1.5).compile();
+        for (Node leaf : leaves) {
+            sprint.loop(plan, 0, leaf);
+        }
+        root.getBoundsInParent();
+    }
+
+    private Group build(int level, List<Node> leaves) {
+        Group group = new Group();
+        groups.add(group);
+        for (int i = 0; i < 2; i++) {
+            if (level == 1) {
+                Rectangle leaf = new Rectangle(leaves.size() * 3, 0, 10, 10);
+                leaves.add(leaf);
+                group.getChildren().add(leaf);
+            } else {
+                group.getChildren().add(build(level - 1, leaves));
+            }
+        }
+        return group;
+    }
+
+    @Benchmark
+    public double tick() {
+        clock.advance(FRAME);
+        return root.getBoundsInParent().getWidth();
+    }
+
+    /**
+     * Prints how often the groups recompute their bounds per tick in both transform modes
+     */
+    public static void main(String[] args) {
+        for (TransformMode mode : TransformMode.values()) {
+            TransformBenchmark benchmark = new TransformBenchmark();
+            benchmark.depth = 8;
+            benchmark.transformMode = mode;
+            benchmark.setup();
+            long[] recomputed = new long[1];
+            for (Group group : benchmark.groups) {
+                InvalidationListener listener = observable -> {
+                    recomputed[0]++;
+                    group.getBoundsInParent();
+                };
+                group.boundsInParentProperty().addListener(listener);
+                group.getBoundsInParent();
+            }
+            for (int i = 0; i < COUNT_TICKS; i++) {
+                benchmark.tick();
+            }
+            System.out.println(String.format("depth 8, %s: %.1f bounds recomputations per tick",
+                    mode, (double) recomputed[0] / COUNT_TICKS));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.beans.value.WritableValue;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.shape.Shape;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * The node properties Sprint knows how to animate. A plan refers to
+ * properties by kind instead of by instance, so it can be played on
+ * any node.
+ */
+
+enum AnimatedProperty {
+
+    TRANSLATE_X {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.translateXProperty();
+        }
+    },
+    TRANSLATE_Y {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.translateYProperty();
+        }
+    },
+    OPACITY {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.opacityProperty();
+        }
+    },
+    SCALE_X {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.scaleXProperty();
+        }
+    },
+    SCALE_Y {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.scaleYProperty();
+        }
+    },
+    ROTATE {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node.rotateProperty();
+        }
+    },
+    FILL {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node instanceof Shape ? ((Shape) node).fillProperty() : null;
+        }
+    },
+    STROKE {
+        @Override
+        WritableValue<?> target(Node node) {
+            return node instanceof Shape ? ((Shape) node).strokeProperty() : null;
+        }
+    };
+
+    /**
+     * Gets the property of a node
+     * @param node The node to animate
+     * @return The property, or null if the node doesn't have it (like the fill of a control)
+     */
+    abstract WritableValue<?> target(Node node);
+
+    /**
+     * Determine whether the property holds a number, or a paint
+     * @return True for numeric properties
+     */
+    boolean isNumeric() {
+        return this != FILL && this != STROKE;
+    }
+
+    /**
+     * Determine whether the property is part of the transform of the node, which the AFFINE transform mode writes at once
+     * @return True for translations, scales and the rotation
+     */
+    boolean isTransform() {
+        return this != OPACITY && isNumeric();
+    }
+
+    /**
+     * Gets the cache hint that lets JavaFX reuse the cached bitmap of a node while the property changes
+     * @return The hint, or null if the property changes what the node looks like
+     */
+    CacheHint cacheHint() {
+        switch (this) {
+            case SCALE_X:
+            case SCALE_Y:
+            case ROTATE:
+                return CacheHint.SCALE_AND_ROTATE;
+            case FILL:
+            case STROKE:
+                return null;
+            default:
+                return CacheHint.SPEED;
+        }
+    }
+}
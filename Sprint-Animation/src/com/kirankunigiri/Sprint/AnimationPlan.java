@@ -0,0 +1,394 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.animation.Timeline;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.beans.value.WritableValue;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * An immutable, compiled Sprint chain. A plan is made once with
+ * Sprint.compile(), and can then be replayed any number of times, on the
+ * nodes it was made with or on other nodes. Relative steps (like moveBy,
+ * rotateBy or the slide helpers) are resolved against the nodes every
+ * time the plan starts. Plans play on the PULSE engine, so replaying one
+ * reuses pooled tracks instead of building new key frames.
+ */
+
+public final class AnimationPlan {
+
+    private static final int PROPERTIES = AnimatedProperty.values().length;
+
+    /** The value of a property which is only known once a relative step has started */
+    private static final Object UNKNOWN = new Object();
+
+    private final Node[] nodes;
+    private final Step[] steps;
+    /** The pause after every group but the last */
+    private final long[] pauses;
+    /** Whether a step is the only one on its property in its group, so it can be skipped when it changes nothing */
+    private final boolean[] alone;
+    private final long[] groupDurations;
+    private final long duration;
+
+    AnimationPlan(Node[] nodes, Step[] steps, long[] pauses) {
+        this.nodes = nodes;
+        this.steps = steps;
+        this.pauses = pauses;
+
+        this.groupDurations = new long[pauses.length + 1];
+        for (Step step : steps) {
+            groupDurations[step.group] = Math.max(groupDurations[step.group], step.duration);
+        }
+        long total = 0;
+        for (int group = 0; group <= pauses.length; group++) {
+            total += groupDurations[group] + (group < pauses.length ? pauses[group] : 0);
+        }
+        this.duration = total;
+
+        // Counts the steps on every property of every node in every group
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Step step : steps) {
+            counts.merge(groupKey(step), 1, Integer::sum);
+        }
+        this.alone = new boolean[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            alone[i] = steps[i].mode == Step.TO && counts.get(groupKey(steps[i])) == 1;
+        }
+    }
+
+    /**
+     * Identifies the property of a node within a group
+     */
+    private long groupKey(Step step) {
+        return (long) step.group * nodes.length * PROPERTIES + key(step);
+    }
+
+    /**
+     * Plays the plan once on the default clock
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback play(Node... nodes) {
+        return play(SprintClock.getDefault(), nodes);
+    }
+
+    /**
+     * Plays the plan once on a specific clock
+     * @param clock The clock to play on
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback play(SprintClock clock, Node... nodes) {
+        return start(clock, 1, false, null, nodes);
+    }
+
+    /**
+     * Loops the plan on the default clock, reversing every second cycle
+     * @param count The number of times to run the animation. 0 for indefinite.
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback loop(int count, Node... nodes) {
+        return loop(count, true, nodes);
+    }
+
+    /**
+     * Loops the plan on the default clock. Every cycle reuses the tracks of the first one, so an endless loop
+     * of numeric properties doesn't create any garbage.
+     * @param count The number of times to run the animation. 0 for indefinite.
+     * @param autoReverse True to play every second cycle backwards, false to restart every cycle from the beginning
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback loop(int count, boolean autoReverse, Node... nodes) {
+        return start(SprintClock.getDefault(), count == 0 ? SprintRun.INDEFINITE : count, autoReverse, null, nodes);
+    }
+
+    /**
+     * Get the length of one cycle of the plan
+     * @return The duration in seconds
+     */
+    public double getDuration() {
+        return duration / 1e9;
+    }
+
+    /**
+     * Get the number of nodes the plan animates
+     * @return The number of nodes to pass when replaying on other nodes
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    // Playback
+
+    /**
+     * Lays the plan out as a run on the engine of a clock, and starts it
+     * @return A handle to the run, which gives the run back to the engine when it finishes
+     */
+    Playback start(SprintClock clock, int cycleCount, boolean autoReverse, Sprint owner, Node[] nodes) {
+        SprintEngine engine = clock.engine();
+        SprintRun run = engine.runs.obtain();
+        layout(run, engine, bind(nodes), 0);
+        run.close(owner, cycleCount, autoReverse);
+        run.policy = owner == null ? Sprint.getDefaultConflictPolicy() : owner.getConflictPolicy();
+        run.culling = owner == null ? Sprint.isDefaultCulling() : owner.isCulling();
+        run.linearColor = owner == null ? Sprint.isDefaultLinearColor() : owner.isLinearColor();
+        if (owner == null ? Sprint.isDefaultAutoCache() : owner.isAutoCache()) {
+            run.cacheHints = engine.cacheHints;
+        }
+        if ((owner == null ? Sprint.getDefaultTransformMode() : owner.getTransformMode()) == TransformMode.AFFINE) {
+            run.transforms = engine.transforms;
+        }
+        Playback playback = new Playback(run, engine, false, owner);
+        playback.start();
+        return playback;
+    }
+
+    /**
+     * Plays the plan on many nodes in one run, every node starting a delay after the one before it
+     */
+    Playback stagger(SprintClock clock, List<? extends Node> nodes, long delay) {
+        if (this.nodes.length != 1) {
+            throw new IllegalArgumentException("Only a plan of a single node can be staggered, but this plan animates " + this.nodes.length + " nodes");
+        }
+        SprintEngine engine = clock.engine();
+        SprintRun run = engine.runs.obtain();
+        Node[] node = new Node[1];
+        long offset = 0;
+        for (Node each : nodes) {
+            node[0] = each;
+            layout(run, engine, node, offset);
+            offset += delay;
+        }
+        run.close(null, 1, false);
+        run.policy = Sprint.getDefaultConflictPolicy();
+        run.culling = Sprint.isDefaultCulling();
+        run.linearColor = Sprint.isDefaultLinearColor();
+        if (Sprint.isDefaultAutoCache()) {
+            run.cacheHints = engine.cacheHints;
+        }
+        if (Sprint.getDefaultTransformMode() == TransformMode.AFFINE) {
+            run.transforms = engine.transforms;
+        }
+        Playback playback = new Playback(run, engine, true, null);
+        playback.start();
+        return playback;
+    }
+
+    /**
+     * Adds the tracks of the plan to a run, resolving relative steps against the nodes
+     * @param offset The time the plan starts at in the run, in nanoseconds
+     */
+    private void layout(SprintRun run, SprintEngine engine, Node[] nodes, long offset) {
+        run.begin(offset);
+        Object[] values = new Object[nodes.length * PROPERTIES];
+
+        int i = 0;
+        for (int group = 0; group <= pauses.length; group++) {
+            for (; i < steps.length && steps[i].group == group; i++) {
+                Step step = steps[i];
+                Node node = nodes[step.slot];
+                WritableValue<?> target = step.property.target(node);
+                if (target == null || isNoOp(i, target, values)) {
+                    continue;
+                }
+                long end = run.cursor + step.duration;
+                long start = run.startOf(target, end);
+                Track track;
+                if (step.mode == Step.BY) {
+                    track = engine.doubleTracks.obtain().by((WritableDoubleValue) target, step.value, step.multiplies(), start, end - start, step.interpolator);
+                    values[key(step)] = UNKNOWN;
+                } else if (step.property.isNumeric()) {
+                    // Numeric properties get a primitive track, which doesn't box values on every pulse
+                    Object value = end(step, node, target);
+                    track = engine.doubleTracks.obtain().set((WritableDoubleValue) target, (Double) value, start, end - start, step.interpolator);
+                    values[key(step)] = value;
+                } else {
+                    Object value = end(step, node, target);
+                    if (value instanceof Color) {
+                        // Colors come from the cache of the engine, instead of a new one on every pulse
+                        track = engine.colorTracks.obtain().set(target, (Color) value, start, end - start, step.interpolator, engine.colors);
+                    } else {
+                        track = engine.valueTracks.obtain().set(target, value, start, end - start, step.interpolator);
+                    }
+                    values[key(step)] = value;
+                }
+                track.property = step.property;
+                run.add(track);
+            }
+            // Skipped steps still take their time
+            run.extend(groupDurations[group]);
+            if (group < pauses.length) {
+                run.pause(pauses[group]);
+            }
+        }
+    }
+
+    /**
+     * Builds the Timelines of the plan, for the TIMELINE engine mode.
+     * Every group becomes a Timeline, and every pause a PauseTransition, which doesn't touch any property.
+     * Groups and pauses which do nothing are left out.
+     */
+    SequentialTransition toTransition(Node[] nodes) {
+        nodes = bind(nodes);
+        SequentialTransition sequence = new SequentialTransition();
+
+        // The value every property is expected to have, for relative steps and to skip steps that change nothing
+        Object[] values = new Object[nodes.length * PROPERTIES];
+
+        int i = 0;
+        long pause = 0;
+        for (int group = 0; group <= pauses.length; group++) {
+            Timeline timeline = new Timeline();
+            long end = 0;
+            while (i < steps.length && steps[i].group == group) {
+                // Steps are sorted by time, so all steps ending at the same time share one key frame
+                long time = steps[i].duration;
+                List<KeyValue> keyValues = new ArrayList<>();
+                for (; i < steps.length && steps[i].group == group && steps[i].duration == time; i++) {
+                    KeyValue keyValue = keyValue(i, nodes, values);
+                    if (keyValue != null) {
+                        keyValues.add(keyValue);
+                    }
+                }
+                if (!keyValues.isEmpty()) {
+                    end = time;
+                    timeline.getKeyFrames().add(new KeyFrame(Duration.millis(time / 1e6), keyValues.toArray(new KeyValue[0])));
+                }
+            }
+            if (timeline.getKeyFrames().isEmpty()) {
+                // Every step was skipped, so the group only takes its time
+                pause += groupDurations[group];
+            } else {
+                addPause(sequence, pause);
+                pause = 0;
+                if (end < groupDurations[group]) {
+                    // Skipped steps still take their time
+                    timeline.getKeyFrames().add(new KeyFrame(Duration.millis(groupDurations[group] / 1e6)));
+                }
+                sequence.getChildren().add(timeline);
+            }
+            if (group < pauses.length) {
+                pause += pauses[group];
+            }
+        }
+        addPause(sequence, pause);
+        return sequence;
+    }
+
+    private static void addPause(SequentialTransition sequence, long pause) {
+        if (pause > 0) {
+            sequence.getChildren().add(new PauseTransition(Duration.millis(pause / 1e6)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private KeyValue keyValue(int i, Node[] nodes, Object[] values) {
+        Step step = steps[i];
+        Node node = nodes[step.slot];
+        WritableValue<Object> target = (WritableValue<Object>) step.property.target(node);
+        if (target == null || isNoOp(i, target, values)) {
+            return null;
+        }
+        Object end;
+        if (step.mode == Step.BY) {
+            double base = ((Number) valueOf(step, target, values)).doubleValue();
+            end = step.multiplies() ? base * step.value : base + step.value;
+        } else {
+            end = end(step, node, target);
+        }
+        values[key(step)] = end;
+        return new KeyValue(target, end, step.interpolator);
+    }
+
+    /**
+     * Determine whether a step would animate its property to the value it already has
+     * @param i The index of the step
+     * @param target The property of the step
+     * @param values The values the properties will have when the step starts
+     * @return True if the step can be left out
+     */
+    private boolean isNoOp(int i, WritableValue<?> target, Object[] values) {
+        if (!alone[i]) {
+            return false;
+        }
+        Step step = steps[i];
+        Object end = step.property.isNumeric() ? (Object) step.value : step.paint;
+        return Objects.equals(end, valueOf(step, target, values));
+    }
+
+    /**
+     * Gets the value a property will have when a step starts, which is its current value until another step changes it
+     */
+    private static Object valueOf(Step step, WritableValue<?> target, Object[] values) {
+        Object value = values[key(step)];
+        return value == null ? target.getValue() : value;
+    }
+
+    private static int key(Step step) {
+        return step.slot * PROPERTIES + step.property.ordinal();
+    }
+
+    /**
+     * Resolves the end value of an absolute step. FROM and slide steps set their property to the start value,
+     * and end where the property was before.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object end(Step step, Node node, WritableValue<?> target) {
+        if (!step.isFrom()) {
+            return step.property.isNumeric() ? (Object) step.value : step.paint;
+        }
+        Object end = target.getValue();
+        Object start;
+        if (step.mode == Step.FROM) {
+            start = step.property.isNumeric() ? (Object) step.value : step.paint;
+        } else {
+            start = slideStart(step.mode, node);
+        }
+        ((WritableValue<Object>) target).setValue(start);
+        return end;
+    }
+
+    /**
+     * Computes where a slide starts, just outside of the scene
+     */
+    private static double slideStart(int mode, Node node) {
+        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
+        switch (mode) {
+            case Step.SLIDE_LEFT:
+                return -boundsInScene.getMinX() - boundsInScene.getWidth();
+            case Step.SLIDE_RIGHT:
+                return node.getScene().getWidth() - boundsInScene.getMaxX() + boundsInScene.getWidth();
+            case Step.SLIDE_TOP:
+                return -boundsInScene.getMinY() - boundsInScene.getHeight();
+            default:
+                return node.getScene().getHeight() - boundsInScene.getMaxY() + boundsInScene.getHeight();
+        }
+    }
+
+    private Node[] bind(Node[] nodes) {
+        if (nodes == null || nodes.length == 0) {
+            return this.nodes;
+        }
+        if (nodes.length < this.nodes.length) {
+            throw new IllegalArgumentException("The plan animates " + this.nodes.length + " nodes, but only " + nodes.length + " were given");
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,125 @@
+package com.kirankunigiri.Sprint;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Computes the values of a SprintBatch on a ForkJoinPool, one frame ahead
+ * of the JavaFX thread. During a pulse, the JavaFX thread waits for the values
+ * computed since the last pulse, writes them to the nodes, and hands the
+ * workers the next frame, predicted one pulse gap ahead. The workers then
+ * interpolate while the JavaFX thread goes on with layout, CSS and the
+ * rest of the pulse. The values are double buffered, so the workers never
+ * write the array the JavaFX thread reads.
+ * <p/>
+ * The cost is one frame of latency: tracks added or cancelled during a
+ * pulse only get computed values from the next one (until then the JavaFX
+ * thread computes them itself), and the values written are for the predicted
+ * time of the pulse, which is off when a frame is late.
+ */
+
+final class BatchPipeline {
+
+    /** Fewest tracks worth a task of their own */
+    private static final int MIN_CHUNK = 1024;
+
+    private final SprintBatch batch;
+    private final ForkJoinPool pool;
+    private final Chunk[] chunks;
+    private int chunkCount;
+    private boolean busy;
+
+    // The job in flight
+    private double[] next = new double[0];
+    private long nextTime;
+    private int nextCount;
+
+    /** The values of the last finished job */
+    double[] values = new double[0];
+    /** Number of tracks in values, the tracks after it have no computed value */
+    int computed;
+
+    BatchPipeline(SprintBatch batch, ForkJoinPool pool) {
+        this.batch = batch;
+        this.pool = pool;
+        chunks = new Chunk[pool.getParallelism()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Chunk();
+        }
+    }
+
+    /**
+     * Starts computing the values of the first tracks of the batch. The batch must not change until join() returns.
+     * @param time The time to compute the values for, in nanoseconds
+     * @param count The number of tracks to compute
+     */
+    void submit(long time, int count) {
+        if (next.length < count) {
+            next = new double[Math.max(count, next.length * 2)];
+        }
+        nextTime = time;
+        nextCount = count;
+        int tasks = Math.min(chunks.length, Math.max(1, (count + MIN_CHUNK - 1) / MIN_CHUNK));
+        // Counted as they are handed out, so join() waits for every chunk that runs even if the pool rejects one
+        chunkCount = 0;
+        busy = true;
+        for (int i = 0; i < tasks; i++) {
+            Chunk chunk = chunks[i];
+            chunk.reinitialize();
+            chunk.begin = (int) ((long) count * i / tasks);
+            chunk.end = (int) ((long) count * (i + 1) / tasks);
+            pool.execute(chunk);
+            chunkCount++;
+        }
+    }
+
+    /**
+     * Waits for the job in flight, if any, and makes its values the current ones.
+     * If a worker failed, the values are dropped and its exception is thrown once all chunks are done.
+     */
+    void join() {
+        if (!busy) {
+            return;
+        }
+        busy = false;
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].quietlyJoin();
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            if (chunks[i].isCompletedAbnormally()) {
+                computed = 0;
+                // Throws the exception of the worker
+                chunks[i].join();
+            }
+        }
+        double[] swap = values;
+        values = next;
+        next = swap;
+        computed = nextCount;
+    }
+
+    /**
+     * Drops the computed values, after tracks were moved around
+     */
+    void invalidate() {
+        computed = 0;
+    }
+
+    /**
+     * One range of tracks, computed by one worker. Reused every frame, so a frame doesn't create tasks.
+     * It is reinitialized before every fork, and never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class Chunk extends RecursiveAction {
+
+        int begin;
+        int end;
+
+        @Override
+        protected void compute() {
+            batch.compute(next, nextTime, begin, end);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+
+import java.util.IdentityHashMap;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Turns on the bitmap cache of nodes while only their transform or opacity
+ * is animated, so JavaFX can move the cached bitmap instead of rendering
+ * the whole subtree of the node on every frame. The tracks of a node acquire
+ * the cache when they start and release it when they end, and the cache
+ * settings the node had before are restored when the last one is released.
+ * A fill or stroke animation changes what the node looks like, which would
+ * render the bitmap again on every frame, so the original settings apply
+ * while one of those runs.
+ */
+
+final class CacheHints {
+
+    /** Animations running on one node, and the cache settings it had before */
+    private static final class Entry {
+        boolean cache;
+        CacheHint hint;
+        int moving;
+        int turning;
+        int painting;
+    }
+
+    private final IdentityHashMap<Node, Entry> entries = new IdentityHashMap<>();
+    private final Pool<Entry> pool = new Pool<>(Entry::new);
+
+    /**
+     * Registers a track that starts animating a property of a node
+     * @param node The node
+     * @param property The animated property
+     */
+    void acquire(Node node, AnimatedProperty property) {
+        Entry entry = entries.get(node);
+        if (entry == null) {
+            entry = pool.obtain();
+            entry.cache = node.isCache();
+            entry.hint = node.getCacheHint();
+            entries.put(node, entry);
+        }
+        update(node, entry, property, 1);
+    }
+
+    /**
+     * Unregisters a track that stopped animating a property of a node
+     * @param node The node
+     * @param property The animated property
+     */
+    void release(Node node, AnimatedProperty property) {
+        Entry entry = entries.get(node);
+        if (entry != null) {
+            update(node, entry, property, -1);
+        }
+    }
+
+    private void update(Node node, Entry entry, AnimatedProperty property, int change) {
+        CacheHint hint = property.cacheHint();
+        if (hint == null) {
+            entry.painting += change;
+        } else if (hint == CacheHint.SCALE_AND_ROTATE) {
+            entry.turning += change;
+        } else {
+            entry.moving += change;
+        }
+
+        if (entry.moving + entry.turning + entry.painting == 0) {
+            node.setCache(entry.cache);
+            node.setCacheHint(entry.hint);
+            entries.remove(node);
+            entry.hint = null;
+            pool.recycle(entry);
+        } else if (entry.painting > 0) {
+            node.setCache(entry.cache);
+            node.setCacheHint(entry.hint);
+        } else {
+            node.setCache(true);
+            node.setCacheHint(entry.turning > 0 ? CacheHint.SCALE_AND_ROTATE : CacheHint.SPEED);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A bounded cache of colors, keyed by their ARGB value with 8 bits per channel.
+ * Color is immutable, so a color track would create a new one for every node
+ * on every pulse. Quantized to 8 bits, neighbouring frames and nodes fading
+ * through the same colors share their instances. The least recently used color
+ * is dropped when the cache is full.
+ * <p/>
+ * The cache is a hash table with linear probing over fixed arrays, and a
+ * linked list through the same arrays for the eviction order, so lookups
+ * don't create any objects except for the colors themselves.
+ */
+
+final class ColorCache {
+
+    /** Number of colors kept by the cache of each engine */
+    static final int CAPACITY = 4096;
+
+    private static final int EMPTY = -1;
+
+    private final int capacity;
+    /** Hash slots, holding the index of an entry or EMPTY */
+    private final int[] slots;
+    // Entries
+    private final int[] keys;
+    private final Color[] colors;
+    private final int[] newer;
+    private final int[] older;
+    private int size;
+    /** Most recently used entry */
+    private int newest = EMPTY;
+    /** Least recently used entry, dropped first */
+    private int oldest = EMPTY;
+
+    ColorCache(int capacity) {
+        this.capacity = capacity;
+        this.slots = new int[Integer.highestOneBit(capacity) * 4];
+        this.keys = new int[capacity];
+        this.colors = new Color[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Gets the color of an ARGB value
+     * @param argb Alpha, red, green and blue with 8 bits each, from the highest byte to the lowest
+     * @return The cached color, or a new one which is cached from now on
+     */
+    Color get(int argb) {
+        int mask = slots.length - 1;
+        for (int slot = hash(argb) & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (keys[entry] == argb) {
+                unlink(entry);
+                link(entry);
+                SprintMetrics.colorCacheHit();
+                return colors[entry];
+            }
+        }
+        SprintMetrics.colorCacheMiss();
+
+        int entry;
+        if (size < capacity) {
+            entry = size++;
+        } else {
+            entry = oldest;
+            unlink(entry);
+            remove(keys[entry]);
+        }
+        keys[entry] = argb;
+        colors[entry] = Color.rgb((argb >>> 16) & 0xff, (argb >>> 8) & 0xff, argb & 0xff, (argb >>> 24) / 255.0);
+        int slot = hash(argb) & mask;
+        while (slots[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry;
+        link(entry);
+        return colors[entry];
+    }
+
+    /**
+     * Removes a key from the hash slots, moving the keys after it back so every key stays reachable from its home slot
+     */
+    private void remove(int argb) {
+        int mask = slots.length - 1;
+        int gap = hash(argb) & mask;
+        while (keys[slots[gap]] != argb) {
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; slots[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = hash(keys[slots[slot]]) & mask;
+            // A key can fill the gap unless its home lies between the gap and its slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[gap] = slots[slot];
+                gap = slot;
+            }
+        }
+        slots[gap] = EMPTY;
+    }
+
+    /** Makes an entry the most recently used one */
+    private void link(int entry) {
+        newer[entry] = EMPTY;
+        older[entry] = newest;
+        if (newest != EMPTY) {
+            newer[newest] = entry;
+        } else {
+            oldest = entry;
+        }
+        newest = entry;
+    }
+
+    /** Takes an entry out of the eviction order */
+    private void unlink(int entry) {
+        if (newer[entry] != EMPTY) {
+            older[newer[entry]] = older[entry];
+        } else {
+            newest = older[entry];
+        }
+        if (older[entry] != EMPTY) {
+            newer[older[entry]] = newer[entry];
+        } else {
+            oldest = newer[entry];
+        }
+    }
+
+    private static int hash(int argb) {
+        int h = argb * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
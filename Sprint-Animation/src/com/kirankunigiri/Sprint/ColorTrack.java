@@ -0,0 +1,130 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableValue;
+import javafx.scene.paint.Color;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A track for the fill and stroke of shapes. The channels are interpolated
+ * as primitives, either like Color.interpolate or in linear light, and the
+ * color is taken from the cache of the engine, so a running track only creates
+ * a Color the first time any track of the engine needs it. The end colors are
+ * written exactly as they were given. Paints which aren't colors, like
+ * gradients, jump at the end of the track, the same way a KeyValue does.
+ */
+
+final class ColorTrack extends Track {
+
+    /** Resolution of the table that encodes linear light back to sRGB */
+    private static final int LINEAR_STEPS = 4096;
+    private static final int[] ENCODE = new int[LINEAR_STEPS + 1];
+
+    static {
+        for (int i = 0; i <= LINEAR_STEPS; i++) {
+            double linear = (double) i / LINEAR_STEPS;
+            double srgb = linear <= 0.0031308 ? linear * 12.92 : 1.055 * Math.pow(linear, 1 / 2.4) - 0.055;
+            ENCODE[i] = (int) Math.round(srgb * 255);
+        }
+    }
+
+    private WritableValue<Object> target;
+    private ColorCache cache;
+    private Object from;
+    private Color to;
+    /** Interpolate in linear light instead of sRGB */
+    private boolean linear;
+    /** The start paint isn't a color, so it can't be interpolated */
+    private boolean discrete;
+
+    // Channels of both ends, in linear light when the track is linear
+    private double fromRed, fromGreen, fromBlue, fromOpacity;
+    private double toRed, toGreen, toBlue, toOpacity;
+
+    @SuppressWarnings("unchecked")
+    ColorTrack set(WritableValue<?> target, Color to, long start, long duration, Interpolator interpolator, ColorCache cache) {
+        init(start, duration, interpolator);
+        this.target = (WritableValue<Object>) target;
+        this.to = to;
+        this.cache = cache;
+        return this;
+    }
+
+    @Override
+    Object target() {
+        return target;
+    }
+
+    @Override
+    void capture() {
+        from = target.getValue();
+        linear = run.linearColor;
+        discrete = !(from instanceof Color);
+        if (discrete) {
+            return;
+        }
+        Color color = (Color) from;
+        fromRed = decode(color.getRed());
+        fromGreen = decode(color.getGreen());
+        fromBlue = decode(color.getBlue());
+        fromOpacity = color.getOpacity();
+        toRed = decode(to.getRed());
+        toGreen = decode(to.getGreen());
+        toBlue = decode(to.getBlue());
+        toOpacity = to.getOpacity();
+    }
+
+    @Override
+    void interpolate(double fraction) {
+        if (discrete) {
+            target.setValue(interpolator.interpolate(from, to, fraction));
+            return;
+        }
+        double t = interpolator.interpolate(0.0, 1.0, fraction);
+        int argb = channel(fromOpacity + (toOpacity - fromOpacity) * t, false) << 24
+                | channel(fromRed + (toRed - fromRed) * t, linear) << 16
+                | channel(fromGreen + (toGreen - fromGreen) * t, linear) << 8
+                | channel(fromBlue + (toBlue - fromBlue) * t, linear);
+        target.setValue(cache.get(argb));
+    }
+
+    @Override
+    void reset() {
+        target.setValue(from);
+    }
+
+    @Override
+    void complete() {
+        target.setValue(to);
+    }
+
+    /**
+     * Converts a channel to the space it is interpolated in
+     */
+    private double decode(double value) {
+        if (!linear) {
+            return value;
+        }
+        return value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+    }
+
+    /**
+     * Quantizes an interpolated channel to 8 bits. Curves like the elastic one overshoot, so channels are clamped.
+     * @param encode True to encode a channel in linear light back to sRGB
+     */
+    private static int channel(double value, boolean encode) {
+        value = Math.min(1, Math.max(0, value));
+        return encode ? ENCODE[(int) (value * LINEAR_STEPS + 0.5)] : (int) (value * 255 + 0.5);
+    }
+
+    @Override
+    void recycle(SprintEngine engine) {
+        target = null;
+        cache = null;
+        from = null;
+        to = null;
+        interpolator = null;
+        engine.colorTracks.recycle(this);
+    }
+}
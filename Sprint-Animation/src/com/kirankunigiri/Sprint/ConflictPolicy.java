@@ -0,0 +1,27 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Defines what happens when an animation starts on a property of a node
+ * which another animation is still writing. The engine of the PULSE
+ * engine mode keeps track of which animation writes each property, so
+ * there is never more than one writer per property.
+ */
+
+public enum ConflictPolicy {
+    /**
+     * The new animation takes over the property, continuing from its current value. The old animation stops
+     * writing it, and finishes early once none of its properties are left.
+     */
+    REPLACE,
+    /**
+     * The new animation waits until the animation writing any of its properties has finished.
+     */
+    QUEUE,
+    /**
+     * Like REPLACE, but the new animation starts from the moving value of the old one instead of the value it had
+     * when the new animation started, so the handoff doesn't lose the speed of the old animation. Colors are replaced.
+     */
+    BLEND
+}
@@ -39,26 +39,23 @@ public class Controller {
     public void setup() {
         System.out.println("Scene is displayed!");
 
+        Sprint.setDefaultEngineMode(EngineMode.PULSE);
+
         sprint = new Sprint(title);
         sprint.setInterpolator(new ElasticInterpolator());
         sprint.wait(0.5);
         sprint.slideFromLeft(2);
-        sprint.setNode(subtitle).slideFromRight(2).wait(0.5).sprint();
+        sprint.setNode(subtitle).slideFromRight(2).wait(0.5).sprint().completion()
+                .thenRun(() -> System.out.println("Intro finished"));
 
         buttonSprint = new Sprint(button);
         buttonSprint.setInterpolator(new ElasticInterpolator());
         buttonSprint.wait(0.8).slideFromBottom(1.0).sprint();
         buttonSprint.setInterpolator(new BackInterpolator());
 
-        sprint.isAnimating.addListener( (v, oldValue, newValue) -> {
-            System.out.println("Animation state is now: " + newValue);
-            titleIsAnimating = newValue;
-        });
-
-        buttonSprint.isAnimating.addListener( (v, oldValue, newValue) -> {
-            System.out.println("Animation state is now: " + newValue);
-            buttonIsAnimating = newValue;
-        });
+        // The slides and the spin start from where the elements are, so clicks wait until they are back home
+        sprint.isAnimating.addListener( (v, oldValue, newValue) -> titleIsAnimating = newValue);
+        buttonSprint.isAnimating.addListener( (v, oldValue, newValue) -> buttonIsAnimating = newValue);
 
     }
 
@@ -67,7 +64,7 @@ public class Controller {
             if (!titleIsAnimating) {
                 Interpolator newInterpolator = getInterpolator();
                 buttonSprint.setInterpolator(newInterpolator);
-                buttonSprint.rotateTo(1.5, button.getRotate() + 360).sprint();
+                buttonSprint.rotateBy(1.5, 360).sprint();
                 sprint.setInterpolator(newInterpolator);
                 sprint.setNode(title).slideFromLeft(1.5);
                 sprint.setNode(subtitle).slideFromRight(1.5).sprint();
@@ -0,0 +1,120 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Decides whether a node can be seen, so animations with culling turned on
+ * can skip writing its properties. A node is culled when it or one of its
+ * parents is invisible, when it is not in a scene, or when its bounds are
+ * outside of the scene or of the clip of a parent, like the viewport of a
+ * ScrollPane. Tracks of a culled node are not moved at all, and catch up
+ * from the clock when the node can be seen again.
+ *
+ * Tracks that move, scale or rotate the node are only culled when the node is
+ * hidden or not in a scene. Its bounds are where the culled track left it, so
+ * a node flying in from outside of the viewport would never be seen otherwise.
+ */
+
+final class Culler {
+
+    private Node lastNode;
+    private boolean lastHidden;
+    private boolean lastOutside;
+
+    /** The last transformed box */
+    private final SceneBox box = new SceneBox();
+
+    /**
+     * Forgets the last result. Called once per pulse, since the nodes may have moved since the last one.
+     */
+    void reset() {
+        lastNode = null;
+    }
+
+    /**
+     * Checks whether a node can't be seen. Tracks of the same node usually follow each other,
+     * so the result for the last node is reused until the next pulse.
+     * @param node The animated node
+     * @return True if the node is culled
+     */
+    boolean isCulled(Node node) {
+        return isCulled(node, false);
+    }
+
+    /**
+     * Checks whether a node can't be seen, for a track that may move the node
+     * @param node The animated node
+     * @param moving True if the track writes the transform of the node, so only hidden nodes are culled
+     * @return True if the track should skip the node
+     */
+    boolean isCulled(Node node, boolean moving) {
+        if (node != lastNode) {
+            Scene scene = node.getScene();
+            lastHidden = scene == null || isHidden(node);
+            lastOutside = lastHidden || isOutside(node, scene.getWidth(), scene.getHeight());
+            lastNode = node;
+        }
+        return moving ? lastHidden : lastOutside;
+    }
+
+    /**
+     * Checks the visibility of the node and its parents
+     * @return True if the node or a parent is invisible
+     */
+    boolean isHidden(Node node) {
+        for (Node n = node; n != null; n = n.getParent()) {
+            if (!n.isVisible()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the node is outside of the viewport or of the clip of a parent
+     * @param width Width of the scene
+     * @param height Height of the scene
+     * @return True if the node can't be seen where it is now
+     */
+    boolean isOutside(Node node, double width, double height) {
+        Parent parent = node.getParent();
+        if (parent == null) {
+            Bounds bounds = node.getBoundsInParent();
+            return !overlaps(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), width, height);
+        }
+
+        // The transform of the animated node changes every frame, the transform of its parent usually doesn't
+        box.transform(parent.getLocalToSceneTransform(), node.getBoundsInParent());
+        if (!overlaps(box.minX, box.minY, box.maxX, box.maxY, width, height)) {
+            return true;
+        }
+        double nodeMinX = box.minX;
+        double nodeMinY = box.minY;
+        double nodeMaxX = box.maxX;
+        double nodeMaxY = box.maxY;
+        for (; parent != null; parent = parent.getParent()) {
+            Node clip = parent.getClip();
+            if (clip != null) {
+                box.transform(parent.getLocalToSceneTransform(), clip.getBoundsInParent());
+                if (!overlaps(nodeMinX, nodeMinY, nodeMaxX, nodeMaxY, box.minX, box.minY, box.maxX, box.maxY)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean overlaps(double minX, double minY, double maxX, double maxY, double width, double height) {
+        return overlaps(minX, minY, maxX, maxY, 0, 0, width, height);
+    }
+
+    private static boolean overlaps(double minX1, double minY1, double maxX1, double maxY1,
+                                    double minX2, double minY2, double maxX2, double maxY2) {
+        return minX1 <= maxX2 && minX2 <= maxX1 && minY1 <= maxY2 && minY2 <= maxY1;
+    }
+}
@@ -0,0 +1,112 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableDoubleValue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A track for numeric properties like translate, scale, rotate and opacity.
+ * Values stay primitive from the interpolator to set(double), so a running
+ * track doesn't create any garbage.
+ */
+
+final class DoubleTrack extends Track {
+
+    private WritableDoubleValue target;
+    private double from;
+    private double to;
+    /** The last value the track computed, also while it is superseded */
+    private double value;
+
+    // Relative tracks resolve their end value when they start
+    private boolean relative;
+    private double delta;
+    private boolean multiply;
+
+    DoubleTrack set(WritableDoubleValue target, double to, long start, long duration, Interpolator interpolator) {
+        init(start, duration, interpolator);
+        this.target = target;
+        this.to = to;
+        this.relative = false;
+        return this;
+    }
+
+    /**
+     * Sets up a track that animates relative to the value of the property when the track starts
+     * @param delta The value to add, or to multiply with
+     * @param multiply True to multiply instead of add
+     */
+    DoubleTrack by(WritableDoubleValue target, double delta, boolean multiply, long start, long duration, Interpolator interpolator) {
+        set(target, 0, start, duration, interpolator);
+        this.relative = true;
+        this.delta = delta;
+        this.multiply = multiply;
+        return this;
+    }
+
+    @Override
+    Object target() {
+        return target;
+    }
+
+    @Override
+    boolean blend(Track track) {
+        if (!(track instanceof DoubleTrack)) {
+            return false;
+        }
+        source = track;
+        track.blended = this;
+        return true;
+    }
+
+    @Override
+    void unblend() {
+        from = ((DoubleTrack) source).value;
+        super.unblend();
+    }
+
+    @Override
+    void capture() {
+        from = transform != null ? transform.get(property) : target.get();
+        value = from;
+        if (relative) {
+            to = multiply ? from * delta : from + delta;
+        }
+    }
+
+    @Override
+    void interpolate(double fraction) {
+        double start = source == null ? from : ((DoubleTrack) source).value;
+        write(interpolator.interpolate(start, to, fraction));
+    }
+
+    @Override
+    void reset() {
+        write(source == null ? from : ((DoubleTrack) source).value);
+    }
+
+    @Override
+    void complete() {
+        write(to);
+    }
+
+    private void write(double value) {
+        this.value = value;
+        if (superseded) {
+            return;
+        }
+        if (transform != null) {
+            transform.set(property, value);
+        } else {
+            target.set(value);
+        }
+    }
+
+    @Override
+    void recycle(SprintEngine engine) {
+        target = null;
+        interpolator = null;
+        engine.doubleTracks.recycle(this);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Defines how Sprint plays the animations it builds.
+ */
+
+public enum EngineMode {
+    /**
+     * Every call to sprint() or loop() builds and plays its own Timelines inside of a SequentialTransition.
+     */
+    TIMELINE,
+    /**
+     * Every running Sprint is ticked by one shared AnimationTimer, using pooled tracks instead of Timelines.
+     * A steady frame does not allocate any animation objects, no matter how many Sprints are running.
+     */
+    PULSE
+}
@@ -0,0 +1,38 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A clock that follows the JavaFX pulse. Animations running on it are
+ * ticked on the JavaFX Application Thread, once per frame.
+ */
+
+public final class FxClock extends SprintClock {
+
+    private AnimationTimer timer;
+
+    @Override
+    public long now() {
+        return System.nanoTime();
+    }
+
+    @Override
+    protected void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    pulse(now);
+                }
+            };
+        }
+        timer.start();
+    }
+
+    @Override
+    protected void stop() {
+        timer.stop();
+    }
+}
@@ -27,6 +27,8 @@ package com.kirankunigiri.Sprint.Interpolators;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * An interpolator which is also known as the "bow" function. It interpolates shortly below 0 or above 1 and then bows back.
  * <p/>
@@ -64,6 +66,7 @@ public class BackInterpolator extends EasingInterpolator {
      */
     public BackInterpolator(EasingMode easingMode) {
         super(easingMode);
+        invalidateCurveOn(this.amplitude);
     }
 
     /**
@@ -74,6 +77,7 @@ public class BackInterpolator extends EasingInterpolator {
      */
     public BackInterpolator(EasingMode easingMode, double amplitude) {
         super(easingMode);
+        invalidateCurveOn(this.amplitude);
         this.amplitude.set(amplitude);
     }
 
@@ -113,4 +117,21 @@ public class BackInterpolator extends EasingInterpolator {
         double s = amplitude.get();
         return v * v * ((s + 1) * v - s);
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        final double s = amplitude.get();
+        final double s1 = s + 1;
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            out[i] = v * v * (s1 * v - s);
+        }
+    }
+
+    @Override
+    protected DoubleUnaryOperator compileBaseCurve() {
+        double s = amplitude.get();
+        double s1 = s + 1;
+        return v -> v * v * (s1 * v - s);
+    }
 }
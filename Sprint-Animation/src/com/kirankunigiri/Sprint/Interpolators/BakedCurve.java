@@ -0,0 +1,136 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+/**
+ * A lookup table sampled from the analytic curve of an {@link EasingInterpolator}.
+ * <p/>
+ * The table starts with a coarse sampling and is refined until the reconstruction error,
+ * measured between the samples, is within the requested maximum error. Segments which still miss the
+ * error after refining (like the vertical end of the circular curve) are computed from the analytic curve.
+ */
+final class BakedCurve {
+
+    private static final int MIN_SEGMENTS = 32;
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    /**
+     * Refining stops when at most one in this many segments misses the error.
+     */
+    private static final int EXACT_RATIO = 256;
+
+    /**
+     * Distance from 0 and 1 at which the end samples are taken. Some curves (like the elastic one)
+     * special-case the exact end points, so the table uses the limit of the curve instead.
+     */
+    private static final double EDGE = 1e-9;
+
+    /**
+     * Step used for the central differences which estimate the slopes.
+     */
+    private static final double SLOPE_STEP = 1e-7;
+
+    private final EasingInterpolator interpolator;
+    private final int segments;
+    private final double[] values;
+    private final double[] slopes;
+    private boolean[] exact;
+
+    private BakedCurve(EasingInterpolator interpolator, int segments, double[] values, double[] slopes) {
+        this.interpolator = interpolator;
+        this.segments = segments;
+        this.values = values;
+        this.slopes = slopes;
+    }
+
+    /**
+     * Samples the curve of the interpolator, using its current easing mode and parameters.
+     *
+     * @param interpolator   The interpolator to sample.
+     * @param reconstruction How values between two samples are reconstructed.
+     * @param maxError       The maximum absolute error allowed.
+     * @return The coarsest table within the error.
+     */
+    static BakedCurve bake(EasingInterpolator interpolator, Reconstruction reconstruction, double maxError) {
+        int segments = MIN_SEGMENTS;
+        while (true) {
+            BakedCurve curve = sample(interpolator, reconstruction, segments);
+            boolean[] missed = curve.missedSegments(maxError);
+            int count = 0;
+            for (boolean miss : missed) {
+                if (miss) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return curve;
+            }
+            if (segments >= MAX_SEGMENTS || count * EXACT_RATIO <= segments) {
+                curve.exact = missed;
+                return curve;
+            }
+            segments *= 2;
+        }
+    }
+
+    private static BakedCurve sample(EasingInterpolator interpolator, Reconstruction reconstruction, int segments) {
+        double[] values = new double[segments + 1];
+        double[] slopes = reconstruction == Reconstruction.CUBIC_HERMITE ? new double[segments + 1] : null;
+        for (int i = 0; i <= segments; i++) {
+            double v = clamp((double) i / segments);
+            values[i] = interpolator.analyticCurve(v);
+            if (slopes != null) {
+                double low = clamp(v - SLOPE_STEP);
+                double high = clamp(v + SLOPE_STEP);
+                slopes[i] = (interpolator.analyticCurve(high) - interpolator.analyticCurve(low)) / (high - low);
+            }
+        }
+        return new BakedCurve(interpolator, segments, values, slopes);
+    }
+
+    private static double clamp(double v) {
+        return Math.min(1 - EDGE, Math.max(EDGE, v));
+    }
+
+    /**
+     * Measures the error at three points inside of every segment.
+     *
+     * @param maxError The maximum absolute error allowed.
+     * @return For every segment, whether it misses the error.
+     */
+    private boolean[] missedSegments(double maxError) {
+        boolean[] missed = new boolean[segments];
+        for (int i = 0; i < segments; i++) {
+            for (int q = 1; q < 4 && !missed[i]; q++) {
+                double v = (i + q / 4.0) / segments;
+                missed[i] = Math.abs(value(v) - interpolator.analyticCurve(v)) > maxError;
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * Looks up the curve.
+     *
+     * @param v The normalized value, strictly between 0 and 1.
+     * @return The reconstructed value of the curve.
+     */
+    double value(double v) {
+        double x = v * segments;
+        int i = Math.min((int) x, segments - 1);
+        if (exact != null && exact[i]) {
+            return interpolator.analyticCurve(v);
+        }
+        double t = x - i;
+        double y0 = values[i];
+        double y1 = values[i + 1];
+        if (slopes == null) {
+            return y0 + (y1 - y0) * t;
+        }
+        double h = 1.0 / segments;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * y0
+                + (t3 - 2 * t2 + t) * h * slopes[i]
+                + (-2 * t3 + 3 * t2) * y1
+                + (t3 - t2) * h * slopes[i + 1];
+    }
+}
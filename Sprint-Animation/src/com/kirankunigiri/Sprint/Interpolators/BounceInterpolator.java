@@ -45,6 +45,19 @@ package com.kirankunigiri.Sprint.Interpolators;
  */
 public class BounceInterpolator extends EasingInterpolator {
 
+    /**
+     * The start of every bounce, from the last one to the first one. Values below the start of a bounce belong to a later bounce.
+     */
+    private static final double BOUNCE_1 = 7.0 / 11;
+    private static final double BOUNCE_2 = 3.0 / 11;
+    private static final double BOUNCE_3 = 1.0 / 11;
+
+    /**
+     * The a and b values of the loop in {@link #baseCurve(double)}, for every bounce.
+     */
+    private static final double[] A = {0, 1, 1.5, 1.75};
+    private static final double[] B = {1, 0.5, 0.25, 0.125};
+
     /**
      * Default constructor. Initializes the interpolator with ease out mode.
      */
@@ -69,4 +82,15 @@ public class BounceInterpolator extends EasingInterpolator {
             }
         }
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            // The number of bounce starts above v picks the bounce, without a loop
+            final int k = (v < BOUNCE_1 ? 1 : 0) + (v < BOUNCE_2 ? 1 : 0) + (v < BOUNCE_3 ? 1 : 0);
+            final double d = (11 - 6 * A[k] - 11 * v) / 4;
+            out[i] = B[k] * B[k] - d * d;
+        }
+    }
 }
@@ -65,4 +65,12 @@ public class CircularInterpolator extends EasingInterpolator {
     protected double baseCurve(double v) {
         return -(Math.sqrt(1 - (v * v)) - 1);
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            out[i] = 1 - Math.sqrt(1 - v * v);
+        }
+    }
 }
@@ -67,4 +67,12 @@ public class CubicInterpolator extends EasingInterpolator {
     protected double baseCurve(double v) {
         return Math.pow(v, 3);
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            out[i] = v * v * v;
+        }
+    }
 }
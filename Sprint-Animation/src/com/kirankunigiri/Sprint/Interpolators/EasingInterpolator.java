@@ -25,9 +25,17 @@
 package com.kirankunigiri.Sprint.Interpolators;
 
 import javafx.animation.Interpolator;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * The abstract base class for all easing interpolators.
  *
@@ -35,11 +43,68 @@ import javafx.beans.property.SimpleObjectProperty;
  */
 public abstract class EasingInterpolator extends Interpolator {
 
+    // How curve() evaluates the curve
+    private static final int IN = 0;
+    private static final int OUT = 1;
+    private static final int BOTH = 2;
+    private static final int BAKED = 3;
+    private static final int FROZEN = 4;
+
     /**
      * The easing mode.
      */
     private ObjectProperty<EasingMode> easingMode = new SimpleObjectProperty<>(EasingMode.EASE_OUT);
 
+    /**
+     * Whether the curve is looked up from a baked table instead of being computed.
+     */
+    private BooleanProperty baked = new SimpleBooleanProperty(this, "baked", false);
+
+    /**
+     * The maximum error of the baked table.
+     */
+    private DoubleProperty maxError = new SimpleDoubleProperty(this, "maxError", 1e-4);
+
+    /**
+     * How the baked table is reconstructed between samples.
+     */
+    private ObjectProperty<Reconstruction> reconstruction = new SimpleObjectProperty<>(this, "reconstruction", Reconstruction.CUBIC_HERMITE);
+
+    /**
+     * How accurately transcendental functions are computed.
+     */
+    private ObjectProperty<Precision> precision = new SimpleObjectProperty<>(this, "precision", Precision.EXACT);
+
+    /**
+     * Whether the curve is evaluated by a compiled form, specialized for the current easing mode and parameters.
+     */
+    private BooleanProperty frozen = new SimpleBooleanProperty(this, "frozen", false);
+
+    /**
+     * The baked table, or null if it has to be (re)built.
+     */
+    private BakedCurve table;
+
+    /**
+     * The compiled curve, or null if it has to be (re)compiled.
+     */
+    private DoubleUnaryOperator compiled;
+
+    /**
+     * The easing mode, kept in a plain field so evaluating the curve doesn't read the property.
+     */
+    private EasingMode mode;
+
+    /**
+     * How curve() evaluates the curve, resolved from the easing mode, baked and frozen properties whenever one of them changes.
+     */
+    private int dispatch;
+
+    /**
+     * Whether the precision is FAST, kept in a plain field so evaluating the curve doesn't read the property.
+     */
+    private boolean fast;
+
     /**
      * Constructs the interpolator with a specific easing mode.
      *
@@ -47,6 +112,27 @@ public abstract class EasingInterpolator extends Interpolator {
      */
     public EasingInterpolator(EasingMode easingMode) {
         this.easingMode.set(easingMode);
+        invalidateCurveOn(this.easingMode, maxError, reconstruction, precision);
+        InvalidationListener resolve = observable -> resolveDispatch();
+        this.easingMode.addListener(resolve);
+        baked.addListener(resolve);
+        frozen.addListener(resolve);
+        resolveDispatch();
+        precision.addListener(observable -> fast = precision.get() == Precision.FAST);
+    }
+
+    /**
+     * Resolves how curve() evaluates the curve from the current properties
+     */
+    private void resolveDispatch() {
+        mode = easingMode.get();
+        if (baked.get()) {
+            dispatch = BAKED;
+        } else if (frozen.get()) {
+            dispatch = FROZEN;
+        } else {
+            dispatch = mode == EasingMode.EASE_IN ? IN : mode == EasingMode.EASE_OUT ? OUT : BOTH;
+        }
     }
 
     /**
@@ -80,6 +166,204 @@ public abstract class EasingInterpolator extends Interpolator {
         this.easingMode.set(easingMode);
     }
 
+    /**
+     * The baked property. When baked, the curve is sampled once into a lookup table for the current
+     * easing mode and parameters, and every call afterwards only reads the table.
+     * The table is rebuilt automatically when the easing mode or a parameter of the curve changes.
+     *
+     * @return The property.
+     * @see #isBaked()
+     * @see #setBaked(boolean)
+     */
+    public BooleanProperty bakedProperty() {
+        return baked;
+    }
+
+    /**
+     * Gets whether the curve is baked.
+     *
+     * @return True if the curve is looked up from a table.
+     * @see #bakedProperty()
+     */
+    public boolean isBaked() {
+        return baked.get();
+    }
+
+    /**
+     * Sets whether the curve is baked.
+     *
+     * @param baked True to look up the curve from a table.
+     * @see #bakedProperty()
+     */
+    public void setBaked(boolean baked) {
+        this.baked.set(baked);
+    }
+
+    /**
+     * The maximum error property. Defines the largest absolute difference allowed between the baked
+     * and the computed curve. The default value is 0.0001.
+     *
+     * @return The property.
+     * @see #getMaxError()
+     * @see #setMaxError(double)
+     */
+    public DoubleProperty maxErrorProperty() {
+        return maxError;
+    }
+
+    /**
+     * Gets the maximum error of the baked curve.
+     *
+     * @return The maximum error.
+     * @see #maxErrorProperty()
+     */
+    public double getMaxError() {
+        return maxError.get();
+    }
+
+    /**
+     * Sets the maximum error of the baked curve.
+     *
+     * @param maxError The maximum error.
+     * @see #maxErrorProperty()
+     */
+    public void setMaxError(double maxError) {
+        this.maxError.set(maxError);
+    }
+
+    /**
+     * The reconstruction property. Defines how the baked curve is reconstructed between its samples.
+     *
+     * @return The property.
+     * @see #getReconstruction()
+     * @see #setReconstruction(Reconstruction)
+     */
+    public ObjectProperty<Reconstruction> reconstructionProperty() {
+        return reconstruction;
+    }
+
+    /**
+     * Gets the reconstruction of the baked curve.
+     *
+     * @return The reconstruction.
+     * @see #reconstructionProperty()
+     */
+    public Reconstruction getReconstruction() {
+        return reconstruction.get();
+    }
+
+    /**
+     * Sets the reconstruction of the baked curve.
+     *
+     * @param reconstruction The reconstruction.
+     * @see #reconstructionProperty()
+     */
+    public void setReconstruction(Reconstruction reconstruction) {
+        this.reconstruction.set(reconstruction);
+    }
+
+    /**
+     * The precision property. Defines whether transcendental functions like {@code Math.pow} and {@code Math.sin}
+     * are computed exactly, or with faster approximations. See {@link Precision} for the error of every curve.
+     * The default value is {@link Precision#EXACT}.
+     *
+     * @return The property.
+     * @see #getPrecision()
+     * @see #setPrecision(Precision)
+     */
+    public ObjectProperty<Precision> precisionProperty() {
+        return precision;
+    }
+
+    /**
+     * Gets the precision of the curve.
+     *
+     * @return The precision.
+     * @see #precisionProperty()
+     */
+    public Precision getPrecision() {
+        return precision.get();
+    }
+
+    /**
+     * Sets the precision of the curve.
+     *
+     * @param precision The precision.
+     * @see #precisionProperty()
+     */
+    public void setPrecision(Precision precision) {
+        this.precision.set(precision);
+    }
+
+    /**
+     * Gets whether transcendental functions are approximated, without reading the precision property.
+     *
+     * @return True if the precision is {@link Precision#FAST}.
+     */
+    final boolean isFast() {
+        return fast;
+    }
+
+    /**
+     * The frozen property. When frozen, the easing mode and the parameters of the curve are resolved once into
+     * a compiled curve, so a call doesn't read any property or switch on the easing mode.
+     * The compiled curve is rebuilt automatically when the easing mode or a parameter of the curve changes.
+     *
+     * @return The property.
+     * @see #isFrozen()
+     * @see #setFrozen(boolean)
+     * @see #freeze()
+     */
+    public BooleanProperty frozenProperty() {
+        return frozen;
+    }
+
+    /**
+     * Gets whether the curve is frozen.
+     *
+     * @return True if the curve is evaluated by its compiled form.
+     * @see #frozenProperty()
+     */
+    public boolean isFrozen() {
+        return frozen.get();
+    }
+
+    /**
+     * Sets whether the curve is frozen.
+     *
+     * @param frozen True to evaluate the curve by its compiled form.
+     * @see #frozenProperty()
+     */
+    public void setFrozen(boolean frozen) {
+        this.frozen.set(frozen);
+    }
+
+    /**
+     * Freezes the curve and compiles it right away, so the first frame of an animation doesn't pay for it.
+     *
+     * @return This interpolator.
+     * @see #frozenProperty()
+     */
+    public EasingInterpolator freeze() {
+        frozen.set(true);
+        compiled = compile();
+        return this;
+    }
+
+    /**
+     * Registers parameters of the curve. Whenever one of them changes, the baked table and the compiled curve are rebuilt.
+     *
+     * @param parameters The parameters the base curve depends on.
+     */
+    protected final void invalidateCurveOn(Observable... parameters) {
+        for (Observable parameter : parameters) {
+            parameter.addListener(observable -> {
+                table = null;
+                compiled = null;
+            });
+        }
+    }
+
     /**
      * Defines the base curve for the interpolator.
      * The base curve is then transformed into an easing-in, easing-out easing-both curve.
@@ -90,6 +374,33 @@ public abstract class EasingInterpolator extends Interpolator {
      */
     protected abstract double baseCurve(final double v);
 
+    /**
+     * Evaluates the base curve for a range of values. Subclasses override this with a loop free of branches and calls,
+     * which the JIT can unroll and, for polynomial curves, vectorize. The default implementation calls
+     * {@link #baseCurve(double)} for every value.
+     *
+     * @param in   The normalized values (between 0 and 1).
+     * @param out  The array to write the results to. May be the same array as {@code in}.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     */
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = baseCurve(in[i]);
+        }
+    }
+
+    /**
+     * Compiles the base curve for the current parameters. Interpolators with parameters override this to
+     * return a function which holds everything derived from the parameters in final fields.
+     * The default implementation calls {@link #baseCurve(double)}.
+     *
+     * @return The base curve.
+     */
+    protected DoubleUnaryOperator compileBaseCurve() {
+        return this::baseCurve;
+    }
+
     /**
      * Curves the function depending on the easing mode.
      *
@@ -98,7 +409,155 @@ public abstract class EasingInterpolator extends Interpolator {
      */
     @Override
     protected final double curve(final double v) {
-        switch (easingMode.get()) {
+        switch (dispatch) {
+            case IN:
+                return baseCurve(v);
+            case OUT:
+                return 1 - baseCurve(1 - v);
+            case BOTH:
+                return v <= 0.5 ? baseCurve(2 * v) / 2 : (2 - baseCurve(2 * (1 - v))) / 2;
+            case BAKED:
+                return bakedCurve(v);
+            default:
+                return frozenCurve(v);
+        }
+    }
+
+    /**
+     * Evaluates the compiled curve, compiling it first if needed.
+     */
+    private double frozenCurve(final double v) {
+        DoubleUnaryOperator curve = compiled;
+        if (curve == null) {
+            curve = compile();
+            compiled = curve;
+        }
+        return curve.applyAsDouble(v);
+    }
+
+    /**
+     * Looks the curve up from the baked table, building the table first if needed. The ends are computed exactly.
+     */
+    private double bakedCurve(final double v) {
+        if (v <= 0 || v >= 1) {
+            return frozen.get() ? frozenCurve(v) : analyticCurve(v);
+        }
+        BakedCurve curve = table;
+        if (curve == null) {
+            curve = BakedCurve.bake(this, reconstruction.get(), maxError.get());
+            table = curve;
+        }
+        return curve.value(v);
+    }
+
+    /**
+     * Curves a range of values at once, depending on the easing mode. This gives the same results as calling
+     * the curve for every value, but switches on the easing mode once per call instead of once per value.
+     * A baked curve is looked up value by value. Nothing is kept in the interpolator between calls,
+     * so workers can curve values with a shared interpolator at the same time.
+     *
+     * @param in   The normalized values (between 0 and 1).
+     * @param out  The array to write the results to. May be the same array as {@code in}.
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     */
+    public final void curve(final double[] in, final double[] out, final int from, final int to) {
+        if (from < 0 || to > in.length || to > out.length || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + " to " + to + " is outside of the arrays");
+        }
+        if (dispatch == BAKED) {
+            for (int i = from; i < to; i++) {
+                out[i] = bakedCurve(in[i]);
+            }
+            return;
+        }
+        switch (mode) {
+            case EASE_IN:
+                baseCurve(in, out, from, to);
+                break;
+            case EASE_OUT:
+                for (int i = from; i < to; i++) {
+                    out[i] = 1 - in[i];
+                }
+                baseCurve(out, out, from, to);
+                for (int i = from; i < to; i++) {
+                    out[i] = 1 - out[i];
+                }
+                break;
+            case EASE_BOTH:
+                if (in == out) {
+                    curveBothInPlace(out, from, to);
+                    break;
+                }
+                // Both halves are the base curve of 1 - |2v - 1|, mirrored around 0.5 for the second half
+                for (int i = from; i < to; i++) {
+                    out[i] = 1 - Math.abs(2 * in[i] - 1);
+                }
+                baseCurve(out, out, from, to);
+                for (int i = from; i < to; i++) {
+                    double half = out[i] / 2 - 0.5;
+                    out[i] = 0.5 + (in[i] <= 0.5 ? half : -half);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Curves a range of values in ease both mode when the input is overwritten. The sign of every value
+     * keeps the half it was in, and each run of values in the same half goes through the base curve at once.
+     */
+    private void curveBothInPlace(final double[] values, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            double mirrored = 1 - Math.abs(2 * values[i] - 1);
+            values[i] = values[i] <= 0.5 ? mirrored : -mirrored;
+        }
+        int start = from;
+        while (start < to) {
+            // The sign bit also tells -0.0, the value of 1, apart from 0.0
+            boolean second = Double.doubleToRawLongBits(values[start]) < 0;
+            int end = start + 1;
+            while (end < to && Double.doubleToRawLongBits(values[end]) < 0 == second) {
+                end++;
+            }
+            if (second) {
+                for (int i = start; i < end; i++) {
+                    values[i] = -values[i];
+                }
+            }
+            baseCurve(values, values, start, end);
+            for (int i = start; i < end; i++) {
+                double half = values[i] / 2 - 0.5;
+                values[i] = 0.5 + (second ? -half : half);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Builds the curve for the current easing mode, so the mode is only looked at once.
+     *
+     * @return The compiled curve.
+     */
+    private DoubleUnaryOperator compile() {
+        DoubleUnaryOperator base = compileBaseCurve();
+        switch (mode) {
+            case EASE_OUT:
+                return v -> 1 - base.applyAsDouble(1 - v);
+            case EASE_BOTH:
+                return v -> v <= 0.5 ? base.applyAsDouble(2 * v) / 2 : (2 - base.applyAsDouble(2 * (1 - v))) / 2;
+            default:
+                return base;
+        }
+    }
+
+    /**
+     * Computes the curve depending on the easing mode, without looking at the baked table.
+     *
+     * @param v The normalized value (between 0 and 1).
+     * @return The resulting value of the function.
+     */
+    final double analyticCurve(final double v) {
+        switch (mode) {
             case EASE_IN:
                 return baseCurve(v);
             case EASE_OUT:
@@ -24,9 +24,12 @@
 
 package com.kirankunigiri.Sprint.Interpolators;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * This interpolator simulates an elastic behavior.
  * <p/>
@@ -58,6 +61,11 @@ public class ElasticInterpolator extends EasingInterpolator {
      */
     private DoubleProperty oscillations = new SimpleDoubleProperty(this, "oscillations", 3);
 
+    // The curve derived from the amplitude and the oscillations, updated whenever one of them changes
+    private double period;
+    private double clampedAmplitude;
+    private double phase;
+
     /**
      * Default constructor. Initializes the interpolator with ease out mode.
      */
@@ -72,6 +80,8 @@ public class ElasticInterpolator extends EasingInterpolator {
      */
     public ElasticInterpolator(EasingMode easingMode) {
         super(easingMode);
+        invalidateCurveOn(this.amplitude, this.oscillations);
+        resolveParametersOn();
     }
 
     /**
@@ -82,10 +92,30 @@ public class ElasticInterpolator extends EasingInterpolator {
      */
     public ElasticInterpolator(EasingMode easingMode, double amplitude, double oscillations) {
         super(easingMode);
+        invalidateCurveOn(this.amplitude, this.oscillations);
+        resolveParametersOn();
         this.amplitude.set(amplitude);
         this.oscillations.set(oscillations);
     }
 
+    /**
+     * Derives the curve from the amplitude and the oscillations now and whenever one of them changes,
+     * so evaluating the curve reads neither property nor computes asin.
+     */
+    private void resolveParametersOn() {
+        InvalidationListener resolve = observable -> resolveParameters();
+        amplitude.addListener(resolve);
+        oscillations.addListener(resolve);
+        resolveParameters();
+    }
+
+    private void resolveParameters() {
+        double amplitude = this.amplitude.get();
+        period = 1.0 / oscillations.get();
+        clampedAmplitude = amplitude < 1 ? 1 : amplitude;
+        phase = amplitude < 1 ? period / 4 : period / (2 * Math.PI) * Math.asin(1 / clampedAmplitude);
+    }
+
     /**
      * The oscillations property. Defines number of oscillations.
      *
@@ -156,15 +186,62 @@ public class ElasticInterpolator extends EasingInterpolator {
         if (v == 1) {
             return 1;
         }
-        double p = 1.0 / oscillations.get();
-        double a = amplitude.get();
-        double s;
-        if (a < Math.abs(1)) {
-            a = 1;
-            s = p / 4;
-        } else {
-            s = p / (2 * Math.PI) * Math.asin(1 / a);
+        double p = period;
+        double a = clampedAmplitude;
+        double s = phase;
+        if (isFast()) {
+            return -(a * FastMath.exp2(10 * (v -= 1)) * FastMath.sin((v - s) * (2 * Math.PI) / p));
         }
         return -(a * Math.pow(2, 10 * (v -= 1)) * Math.sin((v - s) * (2 * Math.PI) / p));
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        final double p = period;
+        final double a = clampedAmplitude;
+        final double s = phase;
+        final double frequency = 2 * Math.PI / p;
+        if (isFast()) {
+            for (int i = from; i < to; i++) {
+                final double v = in[i];
+                final double value = -(a * FastMath.exp2(10 * (v - 1)) * FastMath.sin((v - 1 - s) * frequency));
+                out[i] = v == 0 ? 0 : v == 1 ? 1 : value;
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                final double v = in[i];
+                final double value = -(a * Math.pow(2, 10 * (v - 1)) * Math.sin((v - 1 - s) * frequency));
+                // Selects instead of returning early, so the loop has no branches the JIT can't turn into moves
+                out[i] = v == 0 ? 0 : v == 1 ? 1 : value;
+            }
+        }
+    }
+
+    @Override
+    protected DoubleUnaryOperator compileBaseCurve() {
+        double p = period;
+        double a = clampedAmplitude;
+        double s = phase;
+        double frequency = 2 * Math.PI / p;
+        if (isFast()) {
+            return v -> {
+                if (v == 0) {
+                    return 0;
+                }
+                if (v == 1) {
+                    return 1;
+                }
+                return -(a * FastMath.exp2(10 * (v - 1)) * FastMath.sin((v - 1 - s) * frequency));
+            };
+        }
+        return v -> {
+            if (v == 0) {
+                return 0;
+            }
+            if (v == 1) {
+                return 1;
+            }
+            return -(a * Math.pow(2, 10 * (v - 1)) * Math.sin((v - 1 - s) * frequency));
+        };
+    }
 }
@@ -24,6 +24,8 @@
 
 package com.kirankunigiri.Sprint.Interpolators;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * An exponential interpolator.
  * <p/>
@@ -65,6 +67,30 @@ public class ExponentialInterpolator extends EasingInterpolator {
 
     @Override
     protected double baseCurve(double v) {
+        if (isFast()) {
+            return FastMath.exp2(10 * (v - 1));
+        }
         return Math.pow(2, 10 * (v - 1));
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        if (isFast()) {
+            for (int i = from; i < to; i++) {
+                out[i] = FastMath.exp2(10 * (in[i] - 1));
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                out[i] = Math.pow(2, 10 * (in[i] - 1));
+            }
+        }
+    }
+
+    @Override
+    protected DoubleUnaryOperator compileBaseCurve() {
+        if (isFast()) {
+            return v -> FastMath.exp2(10 * (v - 1));
+        }
+        return v -> Math.pow(2, 10 * (v - 1));
+    }
 }
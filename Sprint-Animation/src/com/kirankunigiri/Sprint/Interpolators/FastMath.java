@@ -0,0 +1,67 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+/**
+ * Polynomial approximations used by the {@link Precision#FAST} mode.
+ * <p/>
+ * The coefficients are Chebyshev fits, which are close to the minimax polynomials of the same degree.
+ */
+final class FastMath {
+
+    // 2^t on [-0.5, 0.5], relative error below 1.1e-7
+    private static final double E0 = 1.0000000754548972;
+    private static final double E1 = 0.6931471880262287;
+    private static final double E2 = 0.24022107485308208;
+    private static final double E3 = 0.05550357114219461;
+    private static final double E4 = 0.009676031918326564;
+    private static final double E5 = 0.0013390863364533504;
+
+    // sin(x) / x as a polynomial of x^2 on [0, pi/2], absolute error of sin(x) below 6e-6
+    private static final double S0 = 0.9999999939719686;
+    private static final double S1 = -0.1666649466907333;
+    private static final double S2 = 0.008323938948827669;
+    private static final double S3 = -0.00018846443126459348;
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double HALF_PI = Math.PI / 2;
+
+    private FastMath() {
+    }
+
+    /**
+     * Computes 2 raised to a power.
+     *
+     * @param x The power. Powers below -1022 return 0.
+     * @return 2^x, with a relative error below 1.1e-7.
+     */
+    static double exp2(final double x) {
+        final double n = Math.max(Math.rint(x), -1023);
+        final double t = x - n;
+        final double p = E0 + t * (E1 + t * (E2 + t * (E3 + t * (E4 + t * E5))));
+        // Builds 2^n from its exponent bits. An exponent of 0 is the bit pattern of 0.
+        return p * Double.longBitsToDouble((long) (n + 1023) << 52);
+    }
+
+    /**
+     * Computes the sine of an angle.
+     *
+     * @param x The angle in radians.
+     * @return The sine, with an absolute error below 6e-6.
+     */
+    static double sin(final double x) {
+        // Reduce to [-pi, pi], then fold onto [0, pi/2] and keep the sign
+        final double r = x - TWO_PI * Math.rint(x / TWO_PI);
+        final double q = HALF_PI - Math.abs(Math.abs(r) - HALF_PI);
+        final double q2 = q * q;
+        return Math.copySign(q * (S0 + q2 * (S1 + q2 * (S2 + q2 * S3))), r);
+    }
+
+    /**
+     * Computes the cosine of an angle.
+     *
+     * @param x The angle in radians.
+     * @return The cosine, with an absolute error below 6e-6.
+     */
+    static double cos(final double x) {
+        return sin(x + HALF_PI);
+    }
+}
@@ -0,0 +1,28 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+/**
+ * Defines how accurately the transcendental functions of an easing curve are computed.
+ * <p/>
+ * The fast mode replaces {@code Math.pow} and {@code Math.sin}/{@code Math.cos} with polynomial approximations.
+ * The largest absolute difference to the exact curve, measured over [0, 1] in every easing mode, is:
+ * <ul>
+ * <li>{@link ExponentialInterpolator}: 1e-7</li>
+ * <li>{@link SineInterpolator}: 6e-6</li>
+ * <li>{@link ElasticInterpolator}: 6e-6 times the amplitude</li>
+ * </ul>
+ * That is far below a tenth of a pixel, even for an animation across a 4K screen.
+ * {@link CircularInterpolator} only needs a square root, which is a single instruction on current processors,
+ * so it is always exact. The other curves are polynomials and are not affected.
+ *
+ * @see EasingInterpolator#setPrecision(Precision)
+ */
+public enum Precision {
+    /**
+     * The curve is computed with the functions of {@link Math}.
+     */
+    EXACT,
+    /**
+     * The curve is computed with polynomial approximations of the transcendental functions.
+     */
+    FAST
+}
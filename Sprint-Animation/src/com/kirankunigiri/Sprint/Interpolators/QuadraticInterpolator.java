@@ -65,4 +65,12 @@ public class QuadraticInterpolator extends EasingInterpolator {
     protected double baseCurve(double v) {
         return Math.pow(v, 2);
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            out[i] = v * v;
+        }
+    }
 }
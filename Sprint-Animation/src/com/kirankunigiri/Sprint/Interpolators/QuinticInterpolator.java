@@ -67,4 +67,13 @@ public class QuinticInterpolator extends EasingInterpolator {
     protected double baseCurve(double v) {
         return Math.pow(v, 5);
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double v = in[i];
+            final double v2 = v * v;
+            out[i] = v2 * v2 * v;
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+/**
+ * Defines how a baked easing curve is reconstructed between two samples of its lookup table.
+ *
+ * @see EasingInterpolator#setBaked(boolean)
+ */
+public enum Reconstruction {
+    /**
+     * Straight lines between samples. Cheapest lookup, but needs more samples for the same error.
+     */
+    LINEAR,
+    /**
+     * Cubic Hermite splines through the samples and their slopes. Needs far fewer samples for smooth curves.
+     */
+    CUBIC_HERMITE
+}
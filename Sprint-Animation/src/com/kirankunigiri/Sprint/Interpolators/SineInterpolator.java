@@ -24,6 +24,8 @@
 
 package com.kirankunigiri.Sprint.Interpolators;
 
+import java.util.function.DoubleUnaryOperator;
+
 /**
  * A sinus based interpolator.
  * <p/>
@@ -63,6 +65,30 @@ public class SineInterpolator extends EasingInterpolator {
 
     @Override
     protected double baseCurve(double v) {
+        if (isFast()) {
+            return 1 - FastMath.cos(v * (Math.PI / 2));
+        }
         return -Math.cos(v * (Math.PI / 2)) + 1;
     }
+
+    @Override
+    protected void baseCurve(final double[] in, final double[] out, final int from, final int to) {
+        if (isFast()) {
+            for (int i = from; i < to; i++) {
+                out[i] = 1 - FastMath.cos(in[i] * (Math.PI / 2));
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                out[i] = 1 - Math.cos(in[i] * (Math.PI / 2));
+            }
+        }
+    }
+
+    @Override
+    protected DoubleUnaryOperator compileBaseCurve() {
+        if (isFast()) {
+            return v -> 1 - FastMath.cos(v * (Math.PI / 2));
+        }
+        return v -> 1 - Math.cos(v * (Math.PI / 2));
+    }
 }
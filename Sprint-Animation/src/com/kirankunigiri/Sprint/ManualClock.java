@@ -0,0 +1,86 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A virtual clock that only moves when it is advanced. Animations running
+ * on it are ticked on the thread that advances the clock, without needing
+ * a display or the JavaFX Application Thread, so hours of animation can
+ * be simulated in seconds and every frame is reproducible.
+ */
+
+public final class ManualClock extends SprintClock {
+
+    private long time;
+    private boolean running;
+    private long pulseCount;
+
+    /**
+     * Creates a clock that starts at time 0
+     */
+    public ManualClock() {
+        this(0);
+    }
+
+    /**
+     * Creates a clock that starts at a specific time
+     * @param time The start time in nanoseconds
+     */
+    public ManualClock(long time) {
+        this.time = time;
+    }
+
+    @Override
+    public long now() {
+        return time;
+    }
+
+    /**
+     * Advances the clock and delivers one pulse, if anything is running
+     * @param nanos The time to advance by in nanoseconds
+     */
+    public void advance(long nanos) {
+        time += nanos;
+        if (running) {
+            pulseCount++;
+            pulse(time);
+        }
+    }
+
+    /**
+     * Advances the clock by a number of equal steps, delivering one pulse per step
+     * @param step The time of one step in nanoseconds
+     * @param steps The number of steps
+     */
+    public void advance(long step, int steps) {
+        for (int i = 0; i < steps; i++) {
+            advance(step);
+        }
+    }
+
+    /**
+     * Get the number of pulses delivered so far. Useful to measure the throughput per tick.
+     * @return The number of pulses
+     */
+    public long getPulseCount() {
+        return pulseCount;
+    }
+
+    /**
+     * Determine whether animations are running on this clock
+     * @return True if the next advance delivers a pulse
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    protected void start() {
+        running = true;
+    }
+
+    @Override
+    protected void stop() {
+        running = false;
+    }
+}
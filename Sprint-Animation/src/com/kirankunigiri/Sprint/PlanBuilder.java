@@ -0,0 +1,67 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Records the steps of a Sprint chain until it is played or compiled.
+ */
+
+final class PlanBuilder {
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+    private long[] pauses = new long[4];
+    private int group;
+
+    /**
+     * Adds a step to the current group
+     * @param seconds End of the step, relative to the start of the group
+     */
+    void add(Node node, AnimatedProperty property, int mode, double value, Object paint, double seconds, Interpolator interpolator) {
+        steps.add(new Step(slot(node), property, mode, value, paint, group, SprintEngine.nanos(seconds), interpolator));
+    }
+
+    /**
+     * Closes the current group and adds a pause before the next one
+     * @param seconds Length of the pause
+     */
+    void pause(double seconds) {
+        if (group == pauses.length) {
+            pauses = Arrays.copyOf(pauses, group * 2);
+        }
+        pauses[group] = SprintEngine.nanos(seconds);
+        group++;
+    }
+
+    /**
+     * Turns the recorded steps into an optimized plan, and starts recording a new chain
+     * @return The plan of the chain
+     */
+    AnimationPlan build() {
+        AnimationPlan plan = PlanOptimizer.optimize(
+                nodes.toArray(new Node[0]),
+                steps.toArray(new Step[0]),
+                Arrays.copyOf(pauses, group));
+        nodes.clear();
+        steps.clear();
+        group = 0;
+        return plan;
+    }
+
+    private int slot(Node node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == node) {
+                return i;
+            }
+        }
+        nodes.add(node);
+        return nodes.size() - 1;
+    }
+}
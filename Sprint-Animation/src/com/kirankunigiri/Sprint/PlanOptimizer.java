@@ -0,0 +1,62 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.Node;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Simplifies the layout of a chain before it becomes a plan. Waits with
+ * nothing animated between them are folded into one pause, and the steps
+ * of every group are sorted by their end time, so steps ending at the
+ * same time sit next to each other and share one key frame.
+ */
+
+final class PlanOptimizer {
+
+    private static final Comparator<Step> ORDER = Comparator.<Step>comparingInt(step -> step.group).thenComparingLong(step -> step.duration);
+
+    private PlanOptimizer() {}
+
+    /**
+     * Builds an optimized plan from a recorded chain
+     * @param nodes The nodes of the chain
+     * @param steps The steps of the chain, in the order they were added
+     * @param pauses The pause after every group but the last
+     * @return The plan
+     */
+    static AnimationPlan optimize(Node[] nodes, Step[] steps, long[] pauses) {
+        int groups = pauses.length + 1;
+        int[] stepCounts = new int[groups];
+        for (Step step : steps) {
+            stepCounts[step.group]++;
+        }
+
+        // Fold the pauses around empty groups. The first and last group stay, so leading and trailing waits are kept.
+        int[] renumbered = new int[groups];
+        long[] foldedPauses = new long[pauses.length];
+        int group = 0;
+        long pending = 0;
+        for (int g = 1; g < groups; g++) {
+            pending += pauses[g - 1];
+            if (stepCounts[g] == 0 && g < groups - 1) {
+                continue;
+            }
+            foldedPauses[group] = pending;
+            renumbered[g] = ++group;
+            pending = 0;
+        }
+
+        Step[] sorted = new Step[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            Step step = steps[i];
+            sorted[i] = step.group == renumbered[step.group] ? step : step.inGroup(renumbered[step.group]);
+        }
+        // Stable, so steps ending at the same time keep the order they were added in
+        Arrays.sort(sorted, ORDER);
+
+        return new AnimationPlan(nodes, sorted, Arrays.copyOf(foldedPauses, group));
+    }
+}
@@ -0,0 +1,327 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Animation;
+import javafx.util.Duration;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A handle to a playing animation, returned by sprint(), loop() and stagger().
+ * It can cancel the animation, and exposes its completion as a CompletionStage,
+ * so code waiting for animations doesn't need listeners on isAnimating.
+ * A stagger is one run on the engine, so cancelling, reversing or seeking it
+ * is a single call, no matter how many nodes it animates, and it keeps its
+ * tracks when it finishes, so it can be reversed or sought again later.
+ * Other animations on the PULSE engine give their tracks back to the engine
+ * when they finish, unless they are kept with retain().
+ * <p/>
+ * The completion stage completes on the thread the animation runs on, which is
+ * the JavaFX thread unless a ManualClock is used. Another thread can wait for it
+ * with toCompletableFuture().join(), without blocking the JavaFX thread. Every play
+ * of the animation gets its own stage, which is created before the play starts and
+ * published through a volatile field, so other threads always see a stage that
+ * the animation thread completes.
+ */
+
+public final class Playback {
+
+    private static final int PLAYING = 0;
+    private static final int FINISHED = 1;
+    private static final int CANCELLED = 2;
+
+    // An animation on the PULSE engine
+    private SprintRun run;
+    private final SprintEngine engine;
+    private boolean keepRun;
+    private final long length;
+    /** Where the run was when it went back to the engine */
+    private long droppedAt;
+
+    // An animation in the TIMELINE engine mode
+    private final Animation animation;
+
+    /** The sprint to notify when the animation starts, or null */
+    private final Sprint owner;
+    private volatile boolean running;
+    private volatile int state;
+    /** The completion of the current play. Only replaced and completed on the thread the animation runs on. */
+    private volatile CompletableFuture<Playback> completion = new CompletableFuture<>();
+
+    /**
+     * Creates a handle to a run, which is started with start()
+     * @param keepRun True to keep the run when it finishes, so it can be reversed or sought again
+     * @param owner The sprint which owns the run, or null
+     */
+    Playback(SprintRun run, SprintEngine engine, boolean keepRun, Sprint owner) {
+        this.run = run;
+        this.engine = engine;
+        this.keepRun = keepRun;
+        this.length = run.length();
+        this.animation = null;
+        this.owner = owner;
+        run.setPlayback(this);
+    }
+
+    /**
+     * Creates a handle to Timelines, which are started with start()
+     * @param owner The sprint to notify when the animation stops
+     */
+    Playback(Animation animation, Sprint owner) {
+        this.run = null;
+        this.engine = null;
+        this.keepRun = false;
+        this.length = 0;
+        this.animation = animation;
+        this.owner = owner;
+    }
+
+    /**
+     * Gets the completion of the animation. It completes with this handle when the animation finishes, or
+     * exceptionally with a CancellationException when the animation is cancelled. An animation which is
+     * played again with reverse() gets a new completion stage. Every call returns a new stage which follows the
+     * animation, so completing it from outside doesn't affect the animation or other callers.
+     * @return The completion stage
+     */
+    public CompletionStage<Playback> completion() {
+        CompletableFuture<Playback> copy = new CompletableFuture<>();
+        completion.whenComplete((finished, error) -> {
+            // Passes the CancellationException on as it is, where thenApply would wrap it in a CompletionException
+            if (error != null) {
+                copy.completeExceptionally(error);
+            } else {
+                copy.complete(finished);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Keeps the tracks of the animation when it finishes or is cancelled, so it can still be sought, reversed or
+     * sped up afterwards, like a stagger. Call it right after sprint() or loop(). The tracks stay with the handle
+     * instead of going back to the engine for other animations.
+     * @return The handle, for chaining
+     */
+    public Playback retain() {
+        if (animation == null) {
+            checkRun();
+            keepRun = true;
+        }
+        return this;
+    }
+
+    /**
+     * Stops the animation, leaving every property at its current value. A stagger, retained animation or Timeline
+     * can be continued with reverse().
+     */
+    public void cancel() {
+        if (!running) {
+            return;
+        }
+        if (animation != null) {
+            animation.stop();
+            SprintMetrics.animationCancelled();
+            owner.runFinished();
+        } else {
+            if (!run.cancel()) {
+                return;
+            }
+            // Gives the transforms of the AFFINE mode back to the nodes now, since no pulse may come
+            engine.transforms.flush();
+        }
+        running = false;
+        state = CANCELLED;
+        complete();
+    }
+
+    /**
+     * Turns the animation around, playing it backwards from where it is. If it has finished or was cancelled, it starts again.
+     */
+    public void reverse() {
+        if (animation != null) {
+            animation.setRate(-animation.getRate());
+        } else {
+            checkRun().reverse();
+        }
+        if (!running) {
+            start();
+        }
+    }
+
+    /**
+     * Jumps to a time of the animation and writes every property. A running animation continues from there.
+     * On the PULSE engine, a finished animation can only be sought if it is a stagger or was kept with retain().
+     * @param time The time in seconds
+     * @throws IllegalStateException If the animation has finished and gave its tracks back to the engine
+     */
+    public void seek(double time) {
+        if (animation != null) {
+            animation.jumpTo(Duration.seconds(time));
+        } else {
+            checkRun().seekTo(SprintEngine.nanos(time));
+            if (!running) {
+                // Nothing ends the tracks of a stopped run
+                run.restore();
+            }
+            engine.transforms.flush();
+        }
+    }
+
+    /**
+     * Get the position of the animation. Unlike seek(), a Timeline reports its position in the current cycle.
+     * @return The time in seconds
+     */
+    public double getCurrentTime() {
+        if (animation != null) {
+            return animation.getCurrentTime().toSeconds();
+        }
+        return (run != null ? run.position() : droppedAt) / 1e9;
+    }
+
+    /**
+     * Changes the speed of the animation, continuing from where it is. A negative rate plays it backwards,
+     * and a rate of 0 holds it where it is, which is how a scrubbing editor keeps it still between seeks.
+     * On the PULSE engine, the rate of a finished animation can only be changed if it is a stagger or was kept
+     * with retain().
+     * @param rate The new speed, 1 for normal speed
+     * @throws IllegalStateException If the animation has finished and gave its tracks back to the engine
+     */
+    public void setRate(double rate) {
+        if (animation != null) {
+            animation.setRate(rate);
+        } else {
+            checkRun().setRate(rate);
+        }
+    }
+
+    /**
+     * Get the speed of the animation
+     * @return The rate, negative when it plays backwards
+     */
+    public double getRate() {
+        if (animation != null) {
+            return animation.getRate();
+        }
+        return run != null ? run.getRate() : 1;
+    }
+
+    /**
+     * Get the length of the animation
+     * @return The duration in seconds, or -1 for an animation that loops forever
+     */
+    public double getDuration() {
+        if (animation != null) {
+            Duration duration = animation.getTotalDuration();
+            return duration.isIndefinite() ? -1 : duration.toSeconds();
+        }
+        return length == SprintRun.INDEFINITE ? -1 : length / 1e9;
+    }
+
+    /**
+     * Determine whether the animation is currently playing
+     * @return Animation state
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Waits for all animations to finish
+     * @param playbacks The animations to wait for
+     * @return A stage which completes when every animation has finished, or exceptionally when one was cancelled
+     */
+    public static CompletionStage<Void> allOf(Playback... playbacks) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[playbacks.length];
+        for (int i = 0; i < playbacks.length; i++) {
+            futures[i] = playbacks[i].completion().toCompletableFuture();
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Waits for the first of several animations to finish
+     * @param playbacks The animations to wait for
+     * @return A stage which completes with the first animation to finish, or exceptionally if it was cancelled
+     */
+    public static CompletionStage<Playback> anyOf(Playback... playbacks) {
+        CompletableFuture<Playback> any = new CompletableFuture<>();
+        for (Playback playback : playbacks) {
+            playback.completion().whenComplete((finished, error) -> {
+                if (error != null) {
+                    any.completeExceptionally(error);
+                } else {
+                    any.complete(finished);
+                }
+            });
+        }
+        return any;
+    }
+
+    private SprintRun checkRun() {
+        if (run == null) {
+            throw new IllegalStateException("The animation has finished and its tracks were reused. Call retain() when it starts to play it again.");
+        }
+        return run;
+    }
+
+    /**
+     * Starts the animation, or starts it again after it finished
+     */
+    void start() {
+        if (state != PLAYING) {
+            completion = new CompletableFuture<>();
+            state = PLAYING;
+        }
+        running = true;
+        if (owner != null) {
+            owner.runStarted();
+        }
+        if (animation != null) {
+            animation.play();
+        } else {
+            engine.start(run);
+        }
+        SprintMetrics.animationStarted();
+    }
+
+    /**
+     * Called when the animation reaches its end
+     */
+    void finished() {
+        running = false;
+        state = FINISHED;
+        complete();
+    }
+
+    /**
+     * Completes the completion stage of the current play
+     */
+    private void complete() {
+        CompletableFuture<Playback> completion = this.completion;
+        if (state == FINISHED) {
+            completion.complete(this);
+        } else {
+            completion.completeExceptionally(new CancellationException("The animation was cancelled"));
+        }
+    }
+
+    /**
+     * Called when the run goes back to the engine, after which the handle can't move it anymore
+     * @param position Where the run was, in nanoseconds over all cycles
+     */
+    void dropRun(long position) {
+        run = null;
+        droppedAt = position;
+    }
+
+    /**
+     * Determine whether the run stays with this handle when it finishes
+     * @return True for staggers and retained animations
+     */
+    boolean keepsRun() {
+        return keepRun;
+    }
+}
@@ -0,0 +1,47 @@
+package com.kirankunigiri.Sprint;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A small free list of reusable objects, so the engine can reuse its
+ * tracks and runs instead of allocating new ones for every animation.
+ */
+
+final class Pool<T> {
+
+    private final Supplier<T> factory;
+    private Object[] free = new Object[16];
+    private int size;
+
+    Pool(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Takes an object out of the pool, or creates a new one if the pool is empty
+     * @return A free object
+     */
+    @SuppressWarnings("unchecked")
+    T obtain() {
+        if (size == 0) {
+            return factory.get();
+        }
+        T object = (T) free[--size];
+        free[size] = null;
+        return object;
+    }
+
+    /**
+     * Puts an object back in the pool. The object must not be used anymore by the caller.
+     * @param object The object to reuse later
+     */
+    void recycle(T object) {
+        if (size == free.length) {
+            free = Arrays.copyOf(free, size * 2);
+        }
+        free[size++] = object;
+    }
+}
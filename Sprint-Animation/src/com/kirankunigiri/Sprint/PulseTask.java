@@ -0,0 +1,23 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Anything that is ticked by the shared engine on every pulse.
+ */
+
+interface PulseTask {
+
+    /**
+     * Advances the task to the time of a pulse
+     * @param now The time of the pulse in nanoseconds
+     * @return False once the task has finished and should be removed from the engine
+     */
+    boolean tick(long now);
+
+    /**
+     * Called after the task has been removed from the engine
+     * @param engine The engine that ticked the task
+     */
+    void finish(SprintEngine engine);
+}
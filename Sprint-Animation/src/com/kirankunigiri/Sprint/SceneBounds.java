@@ -0,0 +1,53 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.transform.Transform;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Measures the scene bounds of many nodes in one pass. The scene transform
+ * of every parent is read once and cached, and the bounds of a node are
+ * computed from its bounds in the parent without creating Bounds objects.
+ * The cache is only valid while the layout doesn't change, so a SceneBounds
+ * is made for one pass and then dropped.
+ */
+
+final class SceneBounds extends SceneBox {
+
+    /** The 2D part of the scene transform of every parent seen so far: mxx, mxy, tx, myx, myy, ty */
+    private final Map<Parent, double[]> transforms = new IdentityHashMap<>();
+
+    /**
+     * Measures the bounds of a node in the scene, like node.localToScene(node.getBoundsInLocal())
+     * @param node The node to measure
+     */
+    void measure(Node node) {
+        Bounds bounds = node.getBoundsInParent();
+        Parent parent = node.getParent();
+        if (parent == null) {
+            set(bounds);
+            return;
+        }
+        double[] m = transforms.computeIfAbsent(parent, SceneBounds::affine);
+        transform(m[0], m[1], m[2], m[3], m[4], m[5], bounds);
+    }
+
+    double getWidth() {
+        return maxX - minX;
+    }
+
+    double getHeight() {
+        return maxY - minY;
+    }
+
+    private static double[] affine(Parent parent) {
+        Transform t = parent.getLocalToSceneTransform();
+        return new double[] {t.getMxx(), t.getMxy(), t.getTx(), t.getMyx(), t.getMyy(), t.getTy()};
+    }
+}
@@ -0,0 +1,59 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.geometry.Bounds;
+import javafx.scene.transform.Transform;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A box in scene coordinates, computed from bounds in a parent and the scene
+ * transform of that parent without creating Bounds objects. The culler and
+ * SceneBounds both measure nodes with it.
+ */
+
+class SceneBox {
+
+    double minX;
+    double minY;
+    double maxX;
+    double maxY;
+
+    /**
+     * Takes bounds which are already in scene coordinates
+     * @param bounds The bounds
+     */
+    final void set(Bounds bounds) {
+        minX = bounds.getMinX();
+        minY = bounds.getMinY();
+        maxX = bounds.getMaxX();
+        maxY = bounds.getMaxY();
+    }
+
+    /**
+     * Transforms bounds into the scene, and takes the box around the transformed corners
+     * @param t The scene transform of the parent the bounds are in
+     * @param bounds The bounds in the parent
+     */
+    final void transform(Transform t, Bounds bounds) {
+        transform(t.getMxx(), t.getMxy(), t.getTx(), t.getMyx(), t.getMyy(), t.getTy(), bounds);
+    }
+
+    /**
+     * Transforms bounds by the 2D part of a transform, and takes the box around the transformed corners
+     */
+    final void transform(double mxx, double mxy, double tx, double myx, double myy, double ty, Bounds bounds) {
+        double x0 = mxx * bounds.getMinX();
+        double x1 = mxx * bounds.getMaxX();
+        double y0 = mxy * bounds.getMinY();
+        double y1 = mxy * bounds.getMaxY();
+        minX = Math.min(x0, x1) + Math.min(y0, y1) + tx;
+        maxX = Math.max(x0, x1) + Math.max(y0, y1) + tx;
+
+        x0 = myx * bounds.getMinX();
+        x1 = myx * bounds.getMaxX();
+        y0 = myy * bounds.getMinY();
+        y1 = myy * bounds.getMaxY();
+        minY = Math.min(x0, x1) + Math.min(y0, y1) + ty;
+        maxY = Math.max(x0, x1) + Math.max(y0, y1) + ty;
+    }
+}
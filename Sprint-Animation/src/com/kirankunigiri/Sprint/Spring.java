@@ -0,0 +1,191 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.beans.value.WritableDoubleValue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A spring which pulls one or two properties of a node towards a target.
+ * The target can be changed at any time, even on every mouse event, and the
+ * spring keeps its velocity, so following a moving target stays smooth.
+ * Changing the target is O(1) and doesn't create any objects. All springs
+ * of a clock are stepped together by one fixed-step integrator.
+ */
+
+public final class Spring {
+
+    /** Distance to the target, and speed per second, below which a spring comes to rest */
+    private static final double REST = 1e-3;
+
+    private final SpringSystem system;
+    private final WritableDoubleValue first;
+    private final WritableDoubleValue second;
+    private double stiffness = 200;
+    private double dampingRatio = 1;
+    private double damping;
+    /** Position in the spring system, or -1 while at rest */
+    int index = -1;
+
+    // Position before and after the last step, velocity and target of each property
+    private double previous0, position0, velocity0, target0;
+    private double previous1, position1, velocity1, target1;
+
+    Spring(SpringSystem system, WritableDoubleValue first, WritableDoubleValue second) {
+        this.system = system;
+        this.first = first;
+        this.second = second;
+        target0 = first.get();
+        target1 = second == null ? 0 : second.get();
+        updateDamping();
+    }
+
+    /**
+     * Change the target of a spring of one property, like a fade
+     * @param value The new target value
+     */
+    public Spring setTarget(double value) {
+        if (second != null) {
+            throw new IllegalStateException("This spring animates two properties, use setTarget(x, y)");
+        }
+        target0 = value;
+        wake();
+        return this;
+    }
+
+    /**
+     * Change the target of a spring of two properties, like a move
+     * @param x The new target of the first property
+     * @param y The new target of the second property
+     */
+    public Spring setTarget(double x, double y) {
+        if (second == null) {
+            throw new IllegalStateException("This spring animates one property, use setTarget(value)");
+        }
+        target0 = x;
+        target1 = y;
+        wake();
+        return this;
+    }
+
+    /**
+     * Change how strongly the spring pulls towards its target. Higher values are faster.
+     * @param stiffness The stiffness, 200 by default
+     */
+    public Spring setStiffness(double stiffness) {
+        if (stiffness <= 0) {
+            throw new IllegalArgumentException("The stiffness must be positive, but was " + stiffness);
+        }
+        this.stiffness = stiffness;
+        updateDamping();
+        return this;
+    }
+
+    /**
+     * Get how strongly the spring pulls towards its target
+     * @return stiffness
+     */
+    public double getStiffness() {
+        return stiffness;
+    }
+
+    /**
+     * Change how the spring settles. 1 is critically damped, the fastest way to the target without overshooting.
+     * Lower values overshoot and bounce, higher values creep towards the target.
+     * @param dampingRatio The damping ratio, 1 by default
+     */
+    public Spring setDampingRatio(double dampingRatio) {
+        if (dampingRatio < 0) {
+            throw new IllegalArgumentException("The damping ratio can't be negative, but was " + dampingRatio);
+        }
+        this.dampingRatio = dampingRatio;
+        updateDamping();
+        return this;
+    }
+
+    /**
+     * Get how the spring settles
+     * @return dampingRatio
+     */
+    public double getDampingRatio() {
+        return dampingRatio;
+    }
+
+    /**
+     * Determine whether the spring is moving towards its target
+     * @return False once the spring has come to rest at its target
+     */
+    public boolean isMoving() {
+        return index >= 0;
+    }
+
+    /**
+     * Stops the spring where it is, dropping its velocity
+     */
+    public void stop() {
+        if (index >= 0) {
+            system.remove(this);
+            SprintMetrics.animationCancelled();
+        }
+    }
+
+    private void updateDamping() {
+        damping = 2 * dampingRatio * Math.sqrt(stiffness);
+    }
+
+    /**
+     * Starts moving from the current values of the properties, if the spring was at rest
+     */
+    private void wake() {
+        if (index < 0) {
+            position0 = previous0 = first.get();
+            velocity0 = 0;
+            if (second != null) {
+                position1 = previous1 = second.get();
+                velocity1 = 0;
+            }
+            system.add(this);
+            SprintMetrics.animationStarted();
+        }
+    }
+
+    /**
+     * Advances the spring by one step, with semi-implicit Euler
+     * @param dt The length of the step in seconds
+     */
+    void step(double dt) {
+        previous0 = position0;
+        velocity0 += (stiffness * (target0 - position0) - damping * velocity0) * dt;
+        position0 += velocity0 * dt;
+        if (second != null) {
+            previous1 = position1;
+            velocity1 += (stiffness * (target1 - position1) - damping * velocity1) * dt;
+            position1 += velocity1 * dt;
+        }
+    }
+
+    boolean isAtRest() {
+        return Math.abs(target0 - position0) < REST && Math.abs(velocity0) < REST
+                && (second == null || Math.abs(target1 - position1) < REST && Math.abs(velocity1) < REST);
+    }
+
+    /**
+     * Writes the blend of the last two steps to the properties
+     * @param alpha How far the pulse is between the last step and the next one, between 0 and 1
+     */
+    void write(double alpha) {
+        first.set(previous0 + (position0 - previous0) * alpha);
+        if (second != null) {
+            second.set(previous1 + (position1 - previous1) * alpha);
+        }
+    }
+
+    /**
+     * Writes the target, once the spring has come to rest
+     */
+    void settle() {
+        first.set(target0);
+        if (second != null) {
+            second.set(target1);
+        }
+    }
+}
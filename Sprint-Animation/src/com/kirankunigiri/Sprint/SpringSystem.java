@@ -0,0 +1,105 @@
+package com.kirankunigiri.Sprint;
+
+import java.util.Arrays;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Steps every moving Spring of an engine with one fixed-step integrator.
+ * The time of each pulse is cut into steps of the same length, so springs
+ * behave the same at any frame rate, and the values written are blended
+ * between the last two steps, so they don't jitter when a pulse falls
+ * between two steps. Springs which have come to rest are removed, and are
+ * added again when they get a new target.
+ */
+
+final class SpringSystem implements PulseTask {
+
+    /** Length of one step in nanoseconds, 240 steps per second */
+    static final long STEP = 1_000_000_000L / 240;
+    private static final double STEP_SECONDS = STEP / 1e9;
+    /** Longest time caught up in one pulse, so a long hang doesn't run thousands of steps */
+    private static final long MAX_ELAPSED = 100_000_000L;
+
+    private final SprintEngine engine;
+    private Spring[] springs = new Spring[8];
+    private int count;
+    private boolean running;
+    private long lastPulse;
+    private long accumulator;
+
+    SpringSystem(SprintEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Starts stepping a spring
+     * @param spring A spring at rest
+     */
+    void add(Spring spring) {
+        if (count == springs.length) {
+            springs = Arrays.copyOf(springs, count * 2);
+        }
+        spring.index = count;
+        springs[count++] = spring;
+        if (!running) {
+            running = true;
+            lastPulse = -1;
+            accumulator = 0;
+            engine.play(this);
+        }
+    }
+
+    /**
+     * Stops stepping a spring by moving the last spring into its place
+     * @param spring A moving spring
+     */
+    void remove(Spring spring) {
+        int i = spring.index;
+        Spring last = springs[--count];
+        springs[i] = last;
+        last.index = i;
+        springs[count] = null;
+        spring.index = -1;
+    }
+
+    @Override
+    public boolean tick(long now) {
+        if (lastPulse < 0) {
+            lastPulse = now;
+        }
+        accumulator += Math.min(now - lastPulse, MAX_ELAPSED);
+        lastPulse = now;
+        while (accumulator >= STEP) {
+            for (int i = 0; i < count; i++) {
+                springs[i].step(STEP_SECONDS);
+            }
+            accumulator -= STEP;
+        }
+
+        double alpha = (double) accumulator / STEP;
+        for (int i = 0; i < count; i++) {
+            Spring spring = springs[i];
+            if (spring.isAtRest()) {
+                spring.settle();
+                remove(spring);
+                i--;
+                SprintMetrics.animationCompleted();
+            } else {
+                spring.write(alpha);
+            }
+        }
+        return count > 0;
+    }
+
+    @Override
+    public void finish(SprintEngine engine) {
+        running = false;
+        if (count > 0) {
+            // A spring got a new target after the last one came to rest
+            running = true;
+            lastPulse = -1;
+            engine.play(this);
+        }
+    }
+}
@@ -3,11 +3,11 @@ package com.kirankunigiri.Sprint;
 import javafx.animation.*;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Shape;
-import javafx.util.Duration;
+
+import java.util.List;
 
 /**
  * @author Kiran Kunigiri
@@ -20,10 +20,23 @@ import javafx.util.Duration;
 public class Sprint {
 
     // Properties
-    private Timeline timeline;
-    private SequentialTransition sequentialTransition;
+    private static EngineMode defaultEngineMode = EngineMode.TIMELINE;
+    private static ConflictPolicy defaultConflictPolicy = ConflictPolicy.REPLACE;
+    private static boolean defaultCulling;
+    private static boolean defaultLinearColor;
+    private static boolean defaultAutoCache;
+    private static TransformMode defaultTransformMode = TransformMode.PROPERTIES;
+    private final PlanBuilder chain = new PlanBuilder();
     private Interpolator interpolator = Interpolator.EASE_OUT;
     private Node node;
+    private EngineMode engineMode;
+    private ConflictPolicy conflictPolicy;
+    private boolean culling;
+    private boolean linearColor;
+    private boolean autoCache;
+    private TransformMode transformMode;
+    private SprintClock clock = SprintClock.getDefault();
+    private int runningCount;
     /** The animation state of sprint */
     public BooleanProperty isAnimating;
 
@@ -32,9 +45,13 @@ public class Sprint {
      * @param node The element to animate
      */
     public Sprint(Node node) {
-        this.timeline = new Timeline();
-        this.sequentialTransition = new SequentialTransition();
         this.node = node;
+        this.engineMode = defaultEngineMode;
+        this.conflictPolicy = defaultConflictPolicy;
+        this.culling = defaultCulling;
+        this.linearColor = defaultLinearColor;
+        this.autoCache = defaultAutoCache;
+        this.transformMode = defaultTransformMode;
         isAnimating = new SimpleBooleanProperty(this, "isAnimating", false);
     }
 
@@ -46,14 +63,8 @@ public class Sprint {
      */
     public Sprint moveTo(double duration, int x, int y) {
 
-        KeyValue keyValueX;
-        KeyValue keyValueY;
-
-        keyValueX = new KeyValue(node.translateXProperty(), x, interpolator);
-        keyValueY = new KeyValue(node.translateYProperty(), y, interpolator);
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX, keyValueY);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.TRANSLATE_X, Step.TO, x);
+        animate(duration, AnimatedProperty.TRANSLATE_Y, Step.TO, y);
 
         return this;
     }
@@ -66,19 +77,22 @@ public class Sprint {
      */
     public Sprint moveFrom(double duration, double x, double y) {
 
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
+        animate(duration, AnimatedProperty.TRANSLATE_X, Step.FROM, x);
+        animate(duration, AnimatedProperty.TRANSLATE_Y, Step.FROM, y);
 
-        KeyValue keyValueX;
-        KeyValue keyValueY;
-
-        keyValueX = new KeyValue(node.translateXProperty(), node.getTranslateX(), interpolator);
-        keyValueY = new KeyValue(node.translateYProperty(), node.getTranslateY(), interpolator);
+        return this;
+    }
 
-        node.setTranslateX(x);
-        node.setTranslateY(y);
+    /**
+     * Animates the element by the specified distance, starting wherever it is when the animation starts
+     * @param duration Duration of the animation
+     * @param x The distance to move along the x axis
+     * @param y The distance to move along the y axis
+     */
+    public Sprint moveBy(double duration, double x, double y) {
 
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX, keyValueY);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.TRANSLATE_X, Step.BY, x);
+        animate(duration, AnimatedProperty.TRANSLATE_Y, Step.BY, y);
 
         return this;
     }
@@ -90,12 +104,7 @@ public class Sprint {
      */
     public Sprint fadeTo(double duration, double opacity) {
 
-        KeyValue keyValueX;
-
-        keyValueX = new KeyValue(node.opacityProperty(), opacity, interpolator);
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.OPACITY, Step.TO, opacity);
 
         return this;
     }
@@ -107,14 +116,19 @@ public class Sprint {
      */
     public Sprint fadeFrom(double duration, double opacity) {
 
-        KeyValue keyValueX;
-    
-        keyValueX = new KeyValue(node.opacityProperty(), node.getOpacity(), interpolator);
+        animate(duration, AnimatedProperty.OPACITY, Step.FROM, opacity);
+
+        return this;
+    }
 
-        node.setOpacity(opacity);
-        
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+    /**
+     * Animates the element's opacity by the specified amount, starting from its opacity when the animation starts
+     * @param duration Duration of the animation
+     * @param opacity The amount to add to the opacity
+     */
+    public Sprint fadeBy(double duration, double opacity) {
+
+        animate(duration, AnimatedProperty.OPACITY, Step.BY, opacity);
 
         return this;
     }
@@ -127,14 +141,8 @@ public class Sprint {
      */
     public Sprint scaleTo(double duration, double x, double y) {
 
-        KeyValue keyValueX;
-        KeyValue keyValueY;
-
-        keyValueX = new KeyValue(node.scaleXProperty(), x, interpolator);
-        keyValueY = new KeyValue(node.scaleYProperty(), y, interpolator);
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX, keyValueY);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.SCALE_X, Step.TO, x);
+        animate(duration, AnimatedProperty.SCALE_Y, Step.TO, y);
 
         return this;
     }
@@ -147,17 +155,22 @@ public class Sprint {
      */
     public Sprint scaleFrom(double duration, double x, double y) {
 
-        KeyValue keyValueX;
-        KeyValue keyValueY;
+        animate(duration, AnimatedProperty.SCALE_X, Step.FROM, x);
+        animate(duration, AnimatedProperty.SCALE_Y, Step.FROM, y);
 
-        keyValueX = new KeyValue(node.scaleXProperty(), node.getScaleX(), interpolator);
-        keyValueY = new KeyValue(node.scaleYProperty(), node.getScaleY(), interpolator);
+        return this;
+    }
 
-        node.setScaleX(x);
-        node.setScaleY(y);
+    /**
+     * Animates the element's scale by the specified factors, relative to its scale when the animation starts
+     * @param duration Duration of the animation
+     * @param x The factor to multiply the scale width with
+     * @param y The factor to multiply the scale height with
+     */
+    public Sprint scaleBy(double duration, double x, double y) {
 
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX, keyValueY);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.SCALE_X, Step.BY, x);
+        animate(duration, AnimatedProperty.SCALE_Y, Step.BY, y);
 
         return this;
     }
@@ -169,12 +182,7 @@ public class Sprint {
      */
     public Sprint rotateTo(double duration, double angle) {
 
-        KeyValue keyValueX;
-
-        keyValueX = new KeyValue(node.rotateProperty(), angle, interpolator);
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.ROTATE, Step.TO, angle);
 
         return this;
     }
@@ -186,14 +194,19 @@ public class Sprint {
      */
     public Sprint rotateFrom(double duration, double angle) {
 
-        KeyValue keyValueX;
+        animate(duration, AnimatedProperty.ROTATE, Step.FROM, angle);
 
-        keyValueX = new KeyValue(node.rotateProperty(), node.getRotate(), interpolator);
+        return this;
+    }
 
-        node.setRotate(angle);
+    /**
+     * Animates the element's rotation by the specified angle, starting from its rotation when the animation starts
+     * @param duration Duration of the animation
+     * @param angle The angle to add to the rotation
+     */
+    public Sprint rotateBy(double duration, double angle) {
 
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.ROTATE, Step.BY, angle);
 
         return this;
     }
@@ -205,17 +218,7 @@ public class Sprint {
      */
     public Sprint fillColorTo(double duration, Color color) {
 
-        KeyValue keyValueX;
-
-        if (node instanceof Shape) {
-            Shape shape = (Shape) node;
-            keyValueX = new KeyValue(shape.fillProperty(), color, interpolator);
-        } else {
-            return this;
-        }
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.FILL, Step.TO, color);
 
         return this;
     }
@@ -227,19 +230,7 @@ public class Sprint {
      */
     public Sprint fillColorFrom(double duration, Color color) {
 
-        KeyValue keyValueX;
-
-        if (node instanceof Shape) {
-            Shape shape = (Shape) node;
-            keyValueX = new KeyValue(shape.fillProperty(), shape.getFill(), interpolator);
-
-            shape.setFill(color);
-        } else {
-            return this;
-        }
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.FILL, Step.FROM, color);
 
         return this;
     }
@@ -251,17 +242,7 @@ public class Sprint {
      */
     public Sprint strokeColorTo(double duration, Color color) {
 
-        KeyValue keyValueX;
-
-        if (node instanceof Shape) {
-            Shape shape = (Shape) node;
-            keyValueX = new KeyValue(shape.strokeProperty(), color, interpolator);
-        } else {
-            return this;
-        }
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.STROKE, Step.TO, color);
 
         return this;
     }
@@ -273,19 +254,7 @@ public class Sprint {
      */
     public Sprint strokeColorFrom(double duration, Color color) {
 
-        KeyValue keyValueX;
-
-        if (node instanceof Shape) {
-            Shape shape = (Shape) node;
-            keyValueX = new KeyValue(shape.strokeProperty(), shape.getStroke(), interpolator);
-
-            shape.setStroke(color);
-        } else {
-            return this;
-        }
-
-        KeyFrame keyFrame = new KeyFrame(Duration.seconds(duration), keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
+        animate(duration, AnimatedProperty.STROKE, Step.FROM, color);
 
         return this;
     }
@@ -310,47 +279,371 @@ public class Sprint {
     }
 
     /**
-     * Play the animation
+     * Change how this sprint plays its animations. Should be changed before chaining any animations.
+     * @param engineMode The new engine mode to use
      */
-    public void sprint() {
-        sequentialTransition.getChildren().add(timeline);
-        sequentialTransition.play();
+    public Sprint setEngineMode(EngineMode engineMode) {
+        this.engineMode = engineMode;
 
-        isAnimating.set(true);
-        sequentialTransition.setOnFinished(event -> {
-            isAnimating.set(false);
-        });
+        return this;
+    }
+
+    /**
+     * Get the engine mode this sprint plays its animations with
+     * @return engineMode
+     */
+    public EngineMode getEngineMode() {
+        return this.engineMode;
+    }
+
+    /**
+     * Change what happens when an animation of this sprint starts on a property that another animation
+     * is still writing. Only the PULSE engine mode resolves conflicts, Timelines always write their properties.
+     * @param conflictPolicy The new conflict policy
+     */
+    public Sprint setConflictPolicy(ConflictPolicy conflictPolicy) {
+        this.conflictPolicy = conflictPolicy;
+
+        return this;
+    }
+
+    /**
+     * Get the conflict policy of this sprint
+     * @return conflictPolicy
+     */
+    public ConflictPolicy getConflictPolicy() {
+        return this.conflictPolicy;
+    }
+
+    /**
+     * Turn culling on or off. With culling, the PULSE engine mode doesn't update nodes that can't be seen, because they
+     * or a parent are invisible, they are not in a scene, or they are outside of the scene or a clipped parent like
+     * a ScrollPane. A culled node jumps to where its animation is now as soon as it can be seen again, and every animation
+     * still ends on time. Moves, scales and rotations only skip a node while it is invisible or not in a scene, so
+     * nodes can fly in from outside of the scene.
+     * @param culling True to skip nodes that can't be seen
+     */
+    public Sprint setCulling(boolean culling) {
+        this.culling = culling;
+
+        return this;
+    }
+
+    /**
+     * Determine whether this sprint skips nodes that can't be seen
+     * @return culling
+     */
+    public boolean isCulling() {
+        return this.culling;
+    }
+
+    /**
+     * Choose how fill and stroke colors are blended in the PULSE engine mode. By default, colors are blended in sRGB,
+     * like Color.interpolate does. In linear light, a fade between two saturated colors doesn't darken in the middle.
+     * @param linearColor True to blend colors in linear light
+     */
+    public Sprint setLinearColor(boolean linearColor) {
+        this.linearColor = linearColor;
+
+        return this;
+    }
+
+    /**
+     * Determine whether this sprint blends colors in linear light
+     * @return linearColor
+     */
+    public boolean isLinearColor() {
+        return this.linearColor;
+    }
+
+    /**
+     * Turn automatic caching on or off. While only the position, scale, rotation or opacity of a node is animated,
+     * the PULSE engine mode turns on its bitmap cache, so JavaFX doesn't render the node and its children again on
+     * every frame. While its fill or stroke is animated, the node isn't cached. When the animation finishes or is
+     * cancelled, the node gets back the cache settings it had before.
+     * @param autoCache True to cache nodes while their transform is animated
+     */
+    public Sprint setAutoCache(boolean autoCache) {
+        this.autoCache = autoCache;
+
+        return this;
+    }
+
+    /**
+     * Determine whether this sprint caches nodes while their transform is animated
+     * @return autoCache
+     */
+    public boolean isAutoCache() {
+        return this.autoCache;
+    }
+
+    /**
+     * Change how the PULSE engine mode writes the position, scale and rotation of nodes. In the AFFINE transform mode,
+     * a move or scale invalidates the transform of the node once per frame, instead of once for every axis.
+     * Other code shouldn't write those properties while the animation runs.
+     * @param transformMode The new transform mode
+     */
+    public Sprint setTransformMode(TransformMode transformMode) {
+        this.transformMode = transformMode;
+
+        return this;
+    }
+
+    /**
+     * Get the transform mode of this sprint
+     * @return transformMode
+     */
+    public TransformMode getTransformMode() {
+        return this.transformMode;
+    }
+
+    /**
+     * Change the clock this sprint runs on. Timelines always run on the JavaFX timer,
+     * so this also switches the sprint to the PULSE engine mode.
+     * Should be changed before chaining any animations.
+     * @param clock The new clock, for example a ManualClock to run headless
+     */
+    public Sprint setClock(SprintClock clock) {
+        this.clock = clock;
+        this.engineMode = EngineMode.PULSE;
+
+        return this;
+    }
+
+    /**
+     * Get the clock this sprint runs on in the PULSE engine mode
+     * @return clock
+     */
+    public SprintClock getClock() {
+        return this.clock;
+    }
+
+    /**
+     * Change the engine mode used by every sprint created afterwards. The default is TIMELINE.
+     * @param engineMode The new default engine mode
+     */
+    public static void setDefaultEngineMode(EngineMode engineMode) {
+        defaultEngineMode = engineMode;
+    }
+
+    /**
+     * Get the engine mode used by newly created sprints
+     * @return defaultEngineMode
+     */
+    public static EngineMode getDefaultEngineMode() {
+        return defaultEngineMode;
+    }
 
-        this.timeline = new Timeline();
-        this.sequentialTransition = new SequentialTransition();
+    /**
+     * Change the conflict policy used by every sprint created afterwards, and by staggers. The default is REPLACE.
+     * @param conflictPolicy The new default conflict policy
+     */
+    public static void setDefaultConflictPolicy(ConflictPolicy conflictPolicy) {
+        defaultConflictPolicy = conflictPolicy;
+    }
+
+    /**
+     * Get the conflict policy used by newly created sprints
+     * @return defaultConflictPolicy
+     */
+    public static ConflictPolicy getDefaultConflictPolicy() {
+        return defaultConflictPolicy;
+    }
+
+    /**
+     * Turn culling on or off for every sprint created afterwards, and for staggers. Culling is off by default.
+     * @param culling True to skip nodes that can't be seen
+     */
+    public static void setDefaultCulling(boolean culling) {
+        defaultCulling = culling;
+    }
+
+    /**
+     * Determine whether newly created sprints skip nodes that can't be seen
+     * @return defaultCulling
+     */
+    public static boolean isDefaultCulling() {
+        return defaultCulling;
+    }
+
+    /**
+     * Choose how colors are blended by every sprint created afterwards, and by staggers. Colors are blended in sRGB by default.
+     * @param linearColor True to blend colors in linear light
+     */
+    public static void setDefaultLinearColor(boolean linearColor) {
+        defaultLinearColor = linearColor;
+    }
+
+    /**
+     * Determine whether newly created sprints blend colors in linear light
+     * @return defaultLinearColor
+     */
+    public static boolean isDefaultLinearColor() {
+        return defaultLinearColor;
+    }
+
+    /**
+     * Turn automatic caching on or off for every sprint created afterwards, and for staggers. It is off by default.
+     * @param autoCache True to cache nodes while their transform is animated
+     */
+    public static void setDefaultAutoCache(boolean autoCache) {
+        defaultAutoCache = autoCache;
+    }
+
+    /**
+     * Determine whether newly created sprints cache nodes while their transform is animated
+     * @return defaultAutoCache
+     */
+    public static boolean isDefaultAutoCache() {
+        return defaultAutoCache;
+    }
+
+    /**
+     * Change the transform mode of every sprint created afterwards, and of staggers. The default is PROPERTIES.
+     * @param transformMode The new default transform mode
+     */
+    public static void setDefaultTransformMode(TransformMode transformMode) {
+        defaultTransformMode = transformMode;
+    }
+
+    /**
+     * Get the transform mode newly created sprints use
+     * @return defaultTransformMode
+     */
+    public static TransformMode getDefaultTransformMode() {
+        return defaultTransformMode;
+    }
+
+    /**
+     * Play the animation
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback sprint() {
+        return play(chain.build(), 1, false);
     }
 
     /**
      * Loops the animation. Use the value 0 to run the loop indefinitely.
      * Looping animations usually work best with the ease both interpolator.
      * @param count The number of times to run the animation. 0 for indefinite.
+     * @return A handle to cancel the animation or wait for it
      */
-    public void loop(int count) {
-        sequentialTransition.getChildren().add(timeline);
+    public Playback loop(int count) {
+        return loop(count, true);
+    }
 
-        if (count == 0) {
-            sequentialTransition.setCycleCount(SequentialTransition.INDEFINITE);
-        } else {
-            sequentialTransition.setCycleCount(count);
-        }
+    /**
+     * Loops the animation. Use the value 0 to run the loop indefinitely.
+     * In the PULSE engine mode, every cycle reuses the tracks of the first one, so an endless loop
+     * of numeric properties doesn't create any garbage, no matter how long it runs.
+     * @param count The number of times to run the animation. 0 for indefinite.
+     * @param autoReverse True to play every second cycle backwards, false to restart every cycle from the beginning
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback loop(int count, boolean autoReverse) {
+        return play(chain.build(), count == 0 ? SprintRun.INDEFINITE : count, autoReverse);
+    }
 
-        sequentialTransition.setAutoReverse(true);
-        sequentialTransition.play();
+    /**
+     * Turns the animation chained so far into a plan that can be replayed, instead of playing it.
+     * The chain is cleared, just like after sprint().
+     * @return The compiled animation
+     */
+    public AnimationPlan compile() {
+        return chain.build();
+    }
 
-        isAnimating.set(true);
-        sequentialTransition.setOnFinished(event -> {
-            isAnimating.set(false);
-        });
+    /**
+     * Plays a compiled animation with the engine mode and clock of this sprint
+     * @param plan The animation to play
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback play(AnimationPlan plan, Node... nodes) {
+        return play(plan, 1, false, nodes);
+    }
 
-        this.timeline = new Timeline();
-        this.sequentialTransition = new SequentialTransition();
+    /**
+     * Loops a compiled animation with the engine mode and clock of this sprint
+     * @param plan The animation to play
+     * @param count The number of times to run the animation. 0 for indefinite.
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback loop(AnimationPlan plan, int count, Node... nodes) {
+        return loop(plan, count, true, nodes);
     }
 
+    /**
+     * Loops a compiled animation with the engine mode and clock of this sprint
+     * @param plan The animation to play
+     * @param count The number of times to run the animation. 0 for indefinite.
+     * @param autoReverse True to play every second cycle backwards, false to restart every cycle from the beginning
+     * @param nodes The nodes to play on, in the order they were first used in the chain. None to use the original nodes.
+     * @return A handle to cancel the animation or wait for it
+     */
+    public Playback loop(AnimationPlan plan, int count, boolean autoReverse, Node... nodes) {
+        return play(plan, count == 0 ? SprintRun.INDEFINITE : count, autoReverse, nodes);
+    }
+
+    /**
+     * Plays a compiled animation of a single node on many nodes, each one starting a delay after the one before it.
+     * The whole stagger is one animation on the PULSE engine of the default clock, whatever the engine mode.
+     * @param nodes The nodes to animate, in order
+     * @param delay The time between the starts of two neighbouring nodes in seconds
+     * @param plan The animation, compiled from a chain on one node
+     * @return A handle to cancel, reverse or seek the stagger
+     */
+    public static Playback stagger(List<? extends Node> nodes, double delay, AnimationPlan plan) {
+        return stagger(SprintClock.getDefault(), nodes, delay, plan);
+    }
+
+    /**
+     * Plays a compiled animation of a single node on many nodes, each one starting a delay after the one before it.
+     * @param clock The clock the stagger runs on
+     * @param nodes The nodes to animate, in order
+     * @param delay The time between the starts of two neighbouring nodes in seconds
+     * @param plan The animation, compiled from a chain on one node
+     * @return A handle to cancel, reverse or seek the stagger
+     */
+    public static Playback stagger(SprintClock clock, List<? extends Node> nodes, double delay, AnimationPlan plan) {
+        return plan.stagger(clock, nodes, SprintEngine.nanos(delay));
+    }
+
+
+    /**
+     * Creates a spring which moves the element towards a target position. Unlike moveTo, the target can be changed
+     * while the spring moves, keeping its velocity, without creating any objects. Springs always run on the clock
+     * of this sprint, whatever the engine mode.
+     * @return The spring, at rest at the current position until it gets a target
+     */
+    public Spring springMove() {
+        return new Spring(clock.engine().springs, node.translateXProperty(), node.translateYProperty());
+    }
+
+    /**
+     * Creates a spring which scales the element towards a target scale
+     * @return The spring, at rest at the current scale until it gets a target
+     */
+    public Spring springScale() {
+        return new Spring(clock.engine().springs, node.scaleXProperty(), node.scaleYProperty());
+    }
+
+    /**
+     * Creates a spring which fades the element towards a target opacity
+     * @return The spring, at rest at the current opacity until it gets a target
+     */
+    public Spring springFade() {
+        return new Spring(clock.engine().springs, node.opacityProperty(), null);
+    }
+
+    /**
+     * Creates a spring which rotates the element towards a target angle
+     * @return The spring, at rest at the current angle until it gets a target
+     */
+    public Spring springRotate() {
+        return new Spring(clock.engine().springs, node.rotateProperty(), null);
+    }
 
     /**
      * Create a pause in the animation timeline, so that elements can animate at different times.
@@ -360,18 +653,7 @@ public class Sprint {
      */
     public Sprint wait(double time) {
 
-        sequentialTransition.getChildren().add(timeline);
-        timeline = new Timeline();
-
-        // Adds a fake animation to create a pause
-        KeyValue keyValueX = new KeyValue(node.rotateProperty(), node.getRotate());
-        Duration duration = Duration.seconds(time);
-
-        KeyFrame keyFrame = new KeyFrame(duration, keyValueX);
-        timeline.getKeyFrames().add(keyFrame);
-
-        sequentialTransition.getChildren().add(timeline);
-        timeline = new Timeline();
+        chain.pause(time);
 
         return this;
     }
@@ -401,55 +683,112 @@ public class Sprint {
         return this.isAnimating.get();
     }
 
+    // Engine functions
+
+    /**
+     * Adds a step on the current node to the chain
+     */
+    private void animate(double duration, AnimatedProperty property, int mode, double value) {
+        chain.add(node, property, mode, value, null, duration, interpolator);
+    }
+
+    /**
+     * Adds a paint step on the current node to the chain. Only shapes have paints.
+     */
+    private void animate(double duration, AnimatedProperty property, int mode, Color color) {
+        if (node instanceof Shape) {
+            chain.add(node, property, mode, 0, color, duration, interpolator);
+        }
+    }
+
+    /**
+     * Plays a plan, either as Timelines or as a run on the engine of the clock
+     */
+    private Playback play(AnimationPlan plan, int cycleCount, boolean autoReverse, Node... nodes) {
+        if (engineMode == EngineMode.PULSE) {
+            return plan.start(clock, cycleCount, autoReverse, this, nodes);
+        }
+
+        SequentialTransition sequentialTransition = plan.toTransition(nodes);
+        if (cycleCount != 1) {
+            sequentialTransition.setCycleCount(cycleCount == SprintRun.INDEFINITE ? Animation.INDEFINITE : cycleCount);
+            sequentialTransition.setAutoReverse(autoReverse);
+        }
+
+        Playback playback = new Playback(sequentialTransition, this);
+        sequentialTransition.setOnFinished(event -> {
+            SprintMetrics.animationCompleted();
+            runFinished();
+            playback.finished();
+        });
+        playback.start();
+        return playback;
+    }
+
+    /**
+     * Called when one of the animations of this sprint has started
+     */
+    void runStarted() {
+        runningCount++;
+        isAnimating.set(true);
+    }
+
+    /**
+     * Called when one of the animations of this sprint has finished
+     */
+    void runFinished() {
+        runningCount--;
+        if (runningCount == 0) {
+            isAnimating.set(false);
+        }
+    }
+
     // Helper animation functions
 
     /**
      * Slides an element in from the right side of the screen to its original position.
+     * The distance is measured when the animation starts.
      * @param duration The duration of the animation
      */
     public Sprint slideFromRight(double duration) {
 
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
-        double dx = node.getScene().getWidth() - boundsInScene.getMaxX() + boundsInScene.getWidth();
-        this.moveFrom(duration, dx, node.getTranslateY());
+        animate(duration, AnimatedProperty.TRANSLATE_X, Step.SLIDE_RIGHT, 0);
+
         return this;
     }
 
     /**
      * Slides an element in from the left side of the screen to its original position.
+     * The distance is measured when the animation starts.
      * @param duration The duration of the animation
      */
     public Sprint slideFromLeft(double duration) {
 
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
-        double dx = -boundsInScene.getMinX() - boundsInScene.getWidth();
-        this.moveFrom(duration, dx, node.getTranslateY());
+        animate(duration, AnimatedProperty.TRANSLATE_X, Step.SLIDE_LEFT, 0);
 
         return this;
     }
 
     /**
      * Slides an element in from the top of the screen to its original position.
+     * The distance is measured when the animation starts.
      * @param duration The duration of the animation
      */
     public Sprint slideFromTop(double duration) {
 
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
-        double dy = -boundsInScene.getMinY() - boundsInScene.getHeight();
-        this.moveFrom(duration, node.getTranslateX(), dy);
+        animate(duration, AnimatedProperty.TRANSLATE_Y, Step.SLIDE_TOP, 0);
 
         return this;
     }
 
     /**
      * Slides an element in from the bottom of the screen to its original position.
+     * The distance is measured when the animation starts.
      * @param duration The duration of the animation
      */
     public Sprint slideFromBottom(double duration) {
 
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
-        double dy = node.getScene().getHeight() - boundsInScene.getMaxY() + boundsInScene.getHeight();
-        this.moveFrom(duration, node.getTranslateX(), dy);
+        animate(duration, AnimatedProperty.TRANSLATE_Y, Step.SLIDE_BOTTOM, 0);
 
         return this;
     }
@@ -484,5 +823,6 @@ public class Sprint {
 
 
 
+
 
 
@@ -0,0 +1,631 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.scene.Node;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author Kiran Kunigiri
+ * Animates thousands of nodes at once. Instead of one Sprint per node,
+ * a batch keeps every animated property as a track in parallel primitive
+ * arrays, and advances all of them in one loop per pulse on the shared engine.
+ * Finished tracks are swapped out with the last track, so adding and
+ * removing tracks is O(1) and does not create garbage. In the SprintMetrics,
+ * a batch counts as one animation from its first track until it is empty.
+ */
+
+/** The batch animator class */
+public class SprintBatch {
+
+    // Sides to slide in from
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+    private static final int TOP = 2;
+    private static final int BOTTOM = 3;
+
+    // Animated properties
+    private static final byte TRANSLATE_X = 0;
+    private static final byte TRANSLATE_Y = 1;
+    private static final byte OPACITY = 2;
+    private static final byte SCALE_X = 3;
+    private static final byte SCALE_Y = 4;
+    private static final byte ROTATE = 5;
+
+    /** Start time of a track which starts on the next pulse */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    // Tracks
+    private Node[] nodes;
+    private byte[] properties;
+    private double[] from;
+    private double[] to;
+    private long[] startTimes;
+    private long[] durations;
+    private int[] interpolatorIds;
+    private int count;
+
+    // Interpolators, referenced by their index
+    private Interpolator[] interpolators = new Interpolator[4];
+    private int interpolatorCount;
+    private int interpolatorId;
+
+    private final SprintClock clock;
+    private boolean running;
+    private boolean culling;
+    private BatchPipeline pipeline;
+    private long lastPulse;
+    /** The batch is counted as a started animation in the metrics */
+    private boolean counted;
+    /** Ticks the batch on the engine, so the engine callbacks are not part of the batch API */
+    private final PulseTask task = new PulseTask() {
+        @Override
+        public boolean tick(long now) {
+            return SprintBatch.this.tick(now);
+        }
+
+        @Override
+        public void finish(SprintEngine engine) {
+            SprintBatch.this.finish(engine);
+        }
+    };
+    /** The animation state of the batch */
+    public BooleanProperty isAnimating;
+
+    /**
+     * Creates an empty batch
+     */
+    public SprintBatch() {
+        this(64);
+    }
+
+    /**
+     * Creates an empty batch with room for a number of tracks. The batch grows when more tracks are added.
+     * @param capacity The number of tracks to make room for
+     */
+    public SprintBatch(int capacity) {
+        this(capacity, SprintClock.getDefault());
+    }
+
+    /**
+     * Creates an empty batch which runs on a specific clock
+     * @param capacity The number of tracks to make room for
+     * @param clock The clock to run on, for example a ManualClock to run headless
+     */
+    public SprintBatch(int capacity, SprintClock clock) {
+        this.clock = clock;
+        capacity = Math.max(capacity, 1);
+        nodes = new Node[capacity];
+        properties = new byte[capacity];
+        from = new double[capacity];
+        to = new double[capacity];
+        startTimes = new long[capacity];
+        durations = new long[capacity];
+        interpolatorIds = new int[capacity];
+        isAnimating = new SimpleBooleanProperty(this, "isAnimating", false);
+        setInterpolator(Interpolator.EASE_OUT);
+    }
+
+    /**
+     * Animates the element to the new position at the specified coordinates.
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param x The new x coordinate to animate to
+     * @param y The new y coordinate to animate to
+     */
+    public SprintBatch moveTo(Node node, double duration, double x, double y) {
+        add(node, TRANSLATE_X, node.getTranslateX(), x, duration);
+        add(node, TRANSLATE_Y, node.getTranslateY(), y, duration);
+        return this;
+    }
+
+    /**
+     * Animates the element from the specified coordinates back to it's original position
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param x The new x coordinate to animate from
+     * @param y The new y coordinate to animate from
+     */
+    public SprintBatch moveFrom(Node node, double duration, double x, double y) {
+        add(node, TRANSLATE_X, x, node.getTranslateX(), duration);
+        add(node, TRANSLATE_Y, y, node.getTranslateY(), duration);
+        node.setTranslateX(x);
+        node.setTranslateY(y);
+        return this;
+    }
+
+    /**
+     * Animates the element to the new opacity specified
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param opacity The new opacity to animate to
+     */
+    public SprintBatch fadeTo(Node node, double duration, double opacity) {
+        add(node, OPACITY, node.getOpacity(), opacity, duration);
+        return this;
+    }
+
+    /**
+     * Animates the element from the specified opacity back to the original value
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param opacity The opacity to animate from
+     */
+    public SprintBatch fadeFrom(Node node, double duration, double opacity) {
+        add(node, OPACITY, opacity, node.getOpacity(), duration);
+        node.setOpacity(opacity);
+        return this;
+    }
+
+    /**
+     * Animates the element's scale to the new value specified
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param x The scale width to animate to (The multiplier value to the original width)
+     * @param y The scale height to animate to (The multiplier value to the original height)
+     */
+    public SprintBatch scaleTo(Node node, double duration, double x, double y) {
+        add(node, SCALE_X, node.getScaleX(), x, duration);
+        add(node, SCALE_Y, node.getScaleY(), y, duration);
+        return this;
+    }
+
+    /**
+     * Animates the element's scale from the one specified back to the original
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param x The scale width to animate from (The multiplier value to the original width)
+     * @param y The scale height to animate from (The multiplier value to the original height)
+     */
+    public SprintBatch scaleFrom(Node node, double duration, double x, double y) {
+        add(node, SCALE_X, x, node.getScaleX(), duration);
+        add(node, SCALE_Y, y, node.getScaleY(), duration);
+        node.setScaleX(x);
+        node.setScaleY(y);
+        return this;
+    }
+
+    /**
+     * Animates the element's rotation to the new value specified
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param angle The angle to rotate the element by around it's center
+     */
+    public SprintBatch rotateTo(Node node, double duration, double angle) {
+        add(node, ROTATE, node.getRotate(), angle, duration);
+        return this;
+    }
+
+    /**
+     * Animates the element from the specified rotation back to the original value
+     * @param node The element to animate
+     * @param duration Duration of the animation
+     * @param angle The angle to rotate the element by around it's center
+     */
+    public SprintBatch rotateFrom(Node node, double duration, double angle) {
+        add(node, ROTATE, angle, node.getRotate(), duration);
+        node.setRotate(angle);
+        return this;
+    }
+
+    /**
+     * Slides elements in from the left side of the screen to their original positions.
+     * The scene bounds of all elements are measured in one pass before any element moves.
+     * @param nodes The elements to animate
+     * @param duration The duration of the animation
+     */
+    public SprintBatch slideFromLeft(Collection<? extends Node> nodes, double duration) {
+        return slide(nodes, duration, LEFT);
+    }
+
+    /**
+     * Slides elements in from the right side of the screen to their original positions.
+     * The scene bounds of all elements are measured in one pass before any element moves.
+     * @param nodes The elements to animate
+     * @param duration The duration of the animation
+     */
+    public SprintBatch slideFromRight(Collection<? extends Node> nodes, double duration) {
+        return slide(nodes, duration, RIGHT);
+    }
+
+    /**
+     * Slides elements in from the top of the screen to their original positions.
+     * The scene bounds of all elements are measured in one pass before any element moves.
+     * @param nodes The elements to animate
+     * @param duration The duration of the animation
+     */
+    public SprintBatch slideFromTop(Collection<? extends Node> nodes, double duration) {
+        return slide(nodes, duration, TOP);
+    }
+
+    /**
+     * Slides elements in from the bottom of the screen to their original positions.
+     * The scene bounds of all elements are measured in one pass before any element moves.
+     * @param nodes The elements to animate
+     * @param duration The duration of the animation
+     */
+    public SprintBatch slideFromBottom(Collection<? extends Node> nodes, double duration) {
+        return slide(nodes, duration, BOTTOM);
+    }
+
+    /**
+     * Change the interpolator used by the tracks added afterwards
+     * @param interpolator The new interpolator to use
+     */
+    public SprintBatch setInterpolator(Interpolator interpolator) {
+        sync();
+        for (int i = 0; i < interpolatorCount; i++) {
+            if (interpolators[i] == interpolator) {
+                interpolatorId = i;
+                return this;
+            }
+        }
+        if (interpolatorCount == interpolators.length) {
+            interpolators = Arrays.copyOf(interpolators, interpolatorCount * 2);
+        }
+        interpolators[interpolatorCount] = interpolator;
+        interpolatorId = interpolatorCount++;
+        return this;
+    }
+
+    /**
+     * Get the current interpolator being used
+     * @return interpolator
+     */
+    public Interpolator getInterpolator() {
+        return interpolators[interpolatorId];
+    }
+
+    /**
+     * Turn culling on or off. With culling, the batch doesn't update nodes that can't be seen, because they or a parent
+     * are invisible, they are not in a scene, or they are outside of the scene or a clipped parent like a ScrollPane.
+     * A culled node jumps to where its tracks are now as soon as it can be seen again, and every track still ends on time.
+     * Tracks that move, scale or rotate a node only skip it while it is invisible or not in a scene, so nodes can slide in
+     * from outside of the scene.
+     * @param culling True to skip nodes that can't be seen
+     */
+    public SprintBatch setCulling(boolean culling) {
+        this.culling = culling;
+        return this;
+    }
+
+    /**
+     * Determine whether the batch skips nodes that can't be seen
+     * @return culling
+     */
+    public boolean isCulling() {
+        return culling;
+    }
+
+    /**
+     * Computes the values of the batch on worker threads, one frame ahead of the JavaFX thread, which only writes
+     * the finished values to the nodes. This pays off for batches with many tracks or expensive interpolators.
+     * The values written during a pulse are computed for the time of the pulse predicted during the one before,
+     * so tracks added or cancelled show up in the computed values one frame later. The interpolators are called
+     * on the workers, so they must not be changed while the batch runs (freeze() Sprint interpolators).
+     * @param pool The pool to compute on, for example ForkJoinPool.commonPool(), or null to compute on the JavaFX thread
+     */
+    public SprintBatch setPipeline(ForkJoinPool pool) {
+        sync();
+        pipeline = pool == null ? null : new BatchPipeline(this, pool);
+        return this;
+    }
+
+    /**
+     * Determine whether the values of the batch are computed on worker threads
+     * @return True if the batch has a pipeline
+     */
+    public boolean isPipelined() {
+        return pipeline != null;
+    }
+
+    /**
+     * Get the number of tracks that are animating. Every animated property of a node is one track.
+     * @return The number of tracks
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Stops all animations of a node, leaving its properties at their current values. This is O(n) in the size of the batch.
+     * @param node The element to stop animating
+     */
+    public void cancel(Node node) {
+        sync();
+        if (pipeline != null) {
+            pipeline.invalidate();
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            if (nodes[i] == node) {
+                remove(i);
+            }
+        }
+        if (count == 0) {
+            ended(false);
+            isAnimating.set(false);
+        }
+    }
+
+    /**
+     * Stops all animations of the batch, leaving the properties at their current values.
+     */
+    public void clear() {
+        sync();
+        ended(false);
+        Arrays.fill(nodes, 0, count, null);
+        count = 0;
+        isAnimating.set(false);
+    }
+
+    /**
+     * Determine whether the batch is currently animating or not
+     * @return Animation state
+     */
+    public boolean isAnimating() {
+        return this.isAnimating.get();
+    }
+
+    // Engine functions
+
+    /**
+     * Measures where every node starts, using the same distances as the slide helpers of Sprint,
+     * then adds all tracks and moves the nodes to their starts
+     */
+    private SprintBatch slide(Collection<? extends Node> slideNodes, double duration, int side) {
+        if (slideNodes.isEmpty()) {
+            return this;
+        }
+        ensureCapacity(count + slideNodes.size());
+        byte property = side == LEFT || side == RIGHT ? TRANSLATE_X : TRANSLATE_Y;
+        double[] starts = new double[slideNodes.size()];
+
+        // Measure everything first, so moving one node can't change the bounds of the next one
+        SceneBounds bounds = new SceneBounds();
+        Node first = slideNodes.iterator().next();
+        double sceneWidth = side == RIGHT ? first.getScene().getWidth() : 0;
+        double sceneHeight = side == BOTTOM ? first.getScene().getHeight() : 0;
+        int i = 0;
+        for (Node node : slideNodes) {
+            bounds.measure(node);
+            switch (side) {
+                case LEFT: starts[i] = -bounds.minX - bounds.getWidth(); break;
+                case RIGHT: starts[i] = sceneWidth - bounds.maxX + bounds.getWidth(); break;
+                case TOP: starts[i] = -bounds.minY - bounds.getHeight(); break;
+                default: starts[i] = sceneHeight - bounds.maxY + bounds.getHeight(); break;
+            }
+            i++;
+        }
+
+        i = 0;
+        for (Node node : slideNodes) {
+            if (property == TRANSLATE_X) {
+                add(node, TRANSLATE_X, starts[i], node.getTranslateX(), duration);
+                node.setTranslateX(starts[i]);
+            } else {
+                add(node, TRANSLATE_Y, starts[i], node.getTranslateY(), duration);
+                node.setTranslateY(starts[i]);
+            }
+            i++;
+        }
+        return this;
+    }
+
+    /**
+     * Makes room for a number of tracks
+     */
+    private void ensureCapacity(int capacity) {
+        sync();
+        if (capacity > nodes.length) {
+            capacity = Math.max(capacity, nodes.length * 2);
+            nodes = Arrays.copyOf(nodes, capacity);
+            properties = Arrays.copyOf(properties, capacity);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            startTimes = Arrays.copyOf(startTimes, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            interpolatorIds = Arrays.copyOf(interpolatorIds, capacity);
+        }
+    }
+
+    private void add(Node node, byte property, double start, double end, double duration) {
+        ensureCapacity(count + 1);
+        nodes[count] = node;
+        properties[count] = property;
+        from[count] = start;
+        to[count] = end;
+        startTimes[count] = NOT_STARTED;
+        durations[count] = SprintEngine.nanos(duration);
+        interpolatorIds[count] = interpolatorId;
+        count++;
+        if (!counted) {
+            counted = true;
+            SprintMetrics.animationStarted();
+        }
+
+        if (!running) {
+            running = true;
+            clock.engine().play(task);
+        }
+        isAnimating.set(true);
+    }
+
+    /**
+     * Removes a track by moving the last track into its place
+     */
+    private void remove(int i) {
+        int last = --count;
+        nodes[i] = nodes[last];
+        properties[i] = properties[last];
+        from[i] = from[last];
+        to[i] = to[last];
+        startTimes[i] = startTimes[last];
+        durations[i] = durations[last];
+        interpolatorIds[i] = interpolatorIds[last];
+        nodes[last] = null;
+    }
+
+    /**
+     * Waits until the workers are done with the tracks, before they are changed
+     */
+    private void sync() {
+        if (pipeline != null) {
+            pipeline.join();
+        }
+    }
+
+    /**
+     * Interpolates a range of tracks without writing them, on a worker of the pipeline
+     * @param out The array to write the values to, at the indices of the tracks
+     * @param time The time to compute the values for
+     * @param begin The first track
+     * @param end The track after the last one
+     */
+    void compute(double[] out, long time, int begin, int end) {
+        for (int i = begin; i < end; i++) {
+            long elapsed = time - startTimes[i];
+            long duration = durations[i];
+            double fraction = elapsed >= duration ? 1 : Math.max(0, elapsed) / (double) duration;
+            out[i] = interpolators[interpolatorIds[i]].interpolate(from[i], to[i], fraction);
+        }
+    }
+
+    /**
+     * Advances every track of the batch and writes the values to the nodes
+     * @param now The time of the pulse in nanoseconds
+     * @return False once all tracks have finished
+     */
+    private boolean tick(long now) {
+        if (pipeline != null) {
+            return tickPipelined(now);
+        }
+        for (int i = 0; i < count; i++) {
+            long start = startTimes[i];
+            if (start == NOT_STARTED) {
+                start = now;
+                startTimes[i] = now;
+            }
+            long elapsed = now - start;
+            long duration = durations[i];
+            boolean finished = elapsed >= duration;
+
+            double value;
+            if (finished) {
+                value = to[i];
+            } else if (culling && clock.engine().culler.isCulled(nodes[i], properties[i] != OPACITY)) {
+                // Catches up from the clock once the node can be seen again
+                continue;
+            } else {
+                value = interpolators[interpolatorIds[i]].interpolate(from[i], to[i], (double) elapsed / duration);
+            }
+            write(nodes[i], properties[i], value);
+
+            if (finished) {
+                remove(i--);
+            }
+        }
+        if (count == 0) {
+            ended(true);
+            isAnimating.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the values the workers computed since the last pulse, and starts computing the next frame
+     */
+    private boolean tickPipelined(long now) {
+        pipeline.join();
+        double[] values = pipeline.values;
+        for (int i = 0; i < count; i++) {
+            long start = startTimes[i];
+            if (start == NOT_STARTED) {
+                start = now;
+                startTimes[i] = now;
+            }
+            long elapsed = now - start;
+            long duration = durations[i];
+
+            double value;
+            if (elapsed >= duration) {
+                value = to[i];
+            } else if (culling && clock.engine().culler.isCulled(nodes[i], properties[i] != OPACITY)) {
+                continue;
+            } else if (i < pipeline.computed) {
+                // A listener may cancel tracks while the values are written, which drops the computed values
+                value = values[i];
+            } else {
+                // Added since the last pulse
+                value = interpolators[interpolatorIds[i]].interpolate(from[i], to[i], (double) elapsed / duration);
+            }
+            write(nodes[i], properties[i], value);
+        }
+
+        // Finished tracks are removed after writing, since removing moves the tracks the values belong to
+        for (int i = 0; i < count; i++) {
+            if (now - startTimes[i] >= durations[i]) {
+                remove(i--);
+            }
+        }
+        long gap = lastPulse == 0 ? 0 : now - lastPulse;
+        lastPulse = now;
+        if (count == 0) {
+            lastPulse = 0;
+            pipeline.invalidate();
+            ended(true);
+            isAnimating.set(false);
+            return false;
+        }
+        if (gap > 0) {
+            pipeline.submit(now + gap, count);
+        } else {
+            // The time of the next pulse can't be predicted yet, so it computes its own values
+            pipeline.invalidate();
+        }
+        return true;
+    }
+
+    /**
+     * Called after the batch has been removed from the engine
+     */
+    private void finish(SprintEngine engine) {
+        running = false;
+        if (count > 0) {
+            // Tracks were added again by a listener of isAnimating
+            running = true;
+            engine.play(task);
+        }
+    }
+
+    /**
+     * Counts the end of the batch in the metrics, once for all of its tracks
+     * @param completed True if the last tracks ran to their end, false if they were cancelled
+     */
+    private void ended(boolean completed) {
+        if (!counted) {
+            return;
+        }
+        counted = false;
+        if (completed) {
+            SprintMetrics.animationCompleted();
+        } else {
+            SprintMetrics.animationCancelled();
+        }
+    }
+
+    private static void write(Node node, byte property, double value) {
+        switch (property) {
+            case TRANSLATE_X: node.setTranslateX(value); break;
+            case TRANSLATE_Y: node.setTranslateY(value); break;
+            case OPACITY: node.setOpacity(value); break;
+            case SCALE_X: node.setScaleX(value); break;
+            case SCALE_Y: node.setScaleY(value); break;
+            case ROTATE: node.setRotate(value); break;
+        }
+    }
+}
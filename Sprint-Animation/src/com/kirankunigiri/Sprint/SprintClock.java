@@ -0,0 +1,72 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * The time source of the PULSE engine. A clock delivers pulses to its own
+ * engine, which ticks every Sprint and SprintBatch that runs on the clock.
+ * FxClock follows the JavaFX pulse, and ManualClock is advanced by hand,
+ * which runs animations headless and deterministically.
+ */
+
+public abstract class SprintClock {
+
+    private static SprintClock defaultClock;
+
+    private final SprintEngine engine = new SprintEngine(this);
+
+    /**
+     * Get the clock used by sprints and batches that don't specify one. This is an FxClock unless changed.
+     * @return The default clock
+     */
+    public static SprintClock getDefault() {
+        if (defaultClock == null) {
+            defaultClock = new FxClock();
+        }
+        return defaultClock;
+    }
+
+    /**
+     * Change the clock used by sprints and batches created afterwards, for example to a ManualClock in tests.
+     * @param clock The new default clock
+     */
+    public static void setDefault(SprintClock clock) {
+        defaultClock = clock;
+    }
+
+    /**
+     * Get the current time of the clock
+     * @return The time in nanoseconds
+     */
+    public abstract long now();
+
+    /**
+     * Called by the engine when it has animations to run. The clock should call pulse() from now on.
+     */
+    protected abstract void start();
+
+    /**
+     * Called by the engine when nothing is running anymore. The clock can stop calling pulse().
+     */
+    protected abstract void stop();
+
+    /**
+     * Ticks every animation running on this clock
+     * @param now The time of the pulse in nanoseconds
+     */
+    protected final void pulse(long now) {
+        engine.pulse(now);
+    }
+
+    /**
+     * Get the number of sprint runs and batches currently running on this clock
+     * @return The number of running animations
+     */
+    public int getRunningCount() {
+        return engine.getRunningCount();
+    }
+
+    SprintEngine engine() {
+        return engine;
+    }
+}
@@ -0,0 +1,209 @@
+package com.kirankunigiri.Sprint;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * The shared pulse driver of the PULSE engine mode. Every clock has one engine,
+ * which ticks every Sprint and SprintBatch running on that clock, and stops
+ * the clock when nothing is running.
+ */
+
+final class SprintEngine {
+
+    private final SprintClock clock;
+
+    // Free lists of the engine
+    final Pool<SprintRun> runs = new Pool<>(() -> new SprintRun(this));
+    final Pool<ValueTrack> valueTracks = new Pool<>(ValueTrack::new);
+    final Pool<DoubleTrack> doubleTracks = new Pool<>(DoubleTrack::new);
+    final Pool<ColorTrack> colorTracks = new Pool<>(ColorTrack::new);
+
+    private PulseTask[] active = new PulseTask[16];
+    private int activeCount;
+    private boolean running;
+    private long lastPulse;
+
+    /** The track writing each animated property, keyed by the property object */
+    private final IdentityHashMap<Object, Track> writers = new IdentityHashMap<>();
+    /** Runs with the QUEUE policy waiting for the properties they animate */
+    private SprintRun[] waiting = new SprintRun[4];
+    private int waitingCount;
+    /** Shared by the tasks of the engine, which tick one after another */
+    final Culler culler = new Culler();
+    /** Shared by the color tracks of the engine */
+    final ColorCache colors = new ColorCache(ColorCache.CAPACITY);
+    /** Caches nodes while runs with automatic caching animate their transform */
+    final CacheHints cacheHints = new CacheHints();
+    /** Writes the transforms of runs in the AFFINE transform mode, once per node and pulse */
+    final TransformWriter transforms = new TransformWriter();
+    /** Steps every moving spring of the engine */
+    final SpringSystem springs = new SpringSystem(this);
+
+    SprintEngine(SprintClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Converts seconds, as used by the Sprint API, to the nanoseconds used by the engine
+     * @param seconds A duration in seconds
+     * @return The duration in nanoseconds
+     */
+    static long nanos(double seconds) {
+        return Math.round(seconds * 1e9);
+    }
+
+    /**
+     * Starts ticking a task on the next pulse
+     * @param task A task which is not running yet, like a closed run
+     */
+    void play(PulseTask task) {
+        if (activeCount == active.length) {
+            active = Arrays.copyOf(active, activeCount * 2);
+        }
+        active[activeCount++] = task;
+        if (!running) {
+            running = true;
+            clock.start();
+        }
+    }
+
+    /**
+     * Starts a run, unless it has to wait for another run writing one of its properties
+     * @param run A closed run
+     */
+    void start(SprintRun run) {
+        if (run.policy == ConflictPolicy.QUEUE && run.isBlocked()) {
+            if (waitingCount == waiting.length) {
+                waiting = Arrays.copyOf(waiting, waitingCount * 2);
+            }
+            waiting[waitingCount++] = run;
+            return;
+        }
+        play(run);
+    }
+
+    /**
+     * Starts the waiting runs which are not blocked anymore, in the order they were queued
+     */
+    void startWaiting() {
+        for (int i = 0; i < waitingCount; i++) {
+            SprintRun run = waiting[i];
+            if (!run.isBlocked()) {
+                System.arraycopy(waiting, i + 1, waiting, i, --waitingCount - i--);
+                waiting[waitingCount] = null;
+                play(run);
+            }
+        }
+    }
+
+    /**
+     * Stops ticking a task without finishing it
+     * @param task A running or waiting task
+     * @return False if the task wasn't running
+     */
+    boolean remove(PulseTask task) {
+        for (int i = 0; i < activeCount; i++) {
+            if (active[i] == task) {
+                active[i] = active[--activeCount];
+                active[activeCount] = null;
+                return true;
+            }
+        }
+        for (int i = 0; i < waitingCount; i++) {
+            if (waiting[i] == task) {
+                System.arraycopy(waiting, i + 1, waiting, i, --waitingCount - i);
+                waiting[waitingCount] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers a track as the writer of its property. A track of another run writing the property
+     * is superseded, according to the conflict policy of the new run.
+     * @param track A track reaching its start
+     */
+    void claim(Track track) {
+        track.claimed = true;
+        Track writer = writers.put(track.target(), track);
+        if (writer == null || writer.run == track.run) {
+            return;
+        }
+        writer.run.supersede(track.target());
+        if (track.run.policy == ConflictPolicy.BLEND) {
+            track.blend(writer);
+        }
+    }
+
+    /**
+     * Removes a track from the registry, when its run finishes or is cancelled
+     * @param track A track of the run
+     */
+    void release(Track track) {
+        writers.remove(track.target(), track);
+        track.claimed = false;
+        track.superseded = false;
+        if (track.blended != null) {
+            track.blended.unblend();
+            track.blended = null;
+        }
+        if (track.source != null) {
+            track.source.blended = null;
+            track.source = null;
+        }
+    }
+
+    /**
+     * Gets the track writing a property
+     * @param target The property
+     * @return The track, or null if no running animation writes the property
+     */
+    Track writerOf(Object target) {
+        return writers.get(target);
+    }
+
+    /**
+     * Ticks all running tasks. Finished tasks are swapped out with the last task.
+     * @param now The time of the pulse in nanoseconds
+     */
+    void pulse(long now) {
+        SprintMetrics metrics = SprintMetrics.get();
+        long begin = 0;
+        long allocated = 0;
+        if (metrics != null) {
+            allocated = metrics.allocatedBytes();
+            begin = System.nanoTime();
+        }
+        culler.reset();
+
+        for (int i = 0; i < activeCount; i++) {
+            PulseTask task = active[i];
+            if (!task.tick(now)) {
+                active[i--] = active[--activeCount];
+                active[activeCount] = null;
+                task.finish(this);
+            }
+        }
+        transforms.flush();
+        if (metrics != null) {
+            long time = System.nanoTime() - begin;
+            long gap = lastPulse == 0 ? 0 : now - lastPulse;
+            metrics.pulse(gap, time, allocated < 0 ? -1 : metrics.allocatedBytes() - allocated);
+        }
+        lastPulse = now;
+
+        if (activeCount == 0 && running) {
+            running = false;
+            lastPulse = 0;
+            clock.stop();
+        }
+    }
+
+    int getRunningCount() {
+        return activeCount;
+    }
+}
@@ -0,0 +1,312 @@
+package com.kirankunigiri.Sprint;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Runtime metrics of Sprint, exposed as an MBean named
+ * com.kirankunigiri.Sprint:type=SprintMetrics. Metrics are off by default.
+ * While they are off, every hook is a single static field read.
+ * Pulse times, missed frames and allocations are measured for the PULSE
+ * engine, since the TIMELINE mode is updated inside of JavaFX. A sprint,
+ * loop, stagger or SprintBatch counts as one animation, however many
+ * properties it moves.
+ */
+
+public final class SprintMetrics implements SprintMetricsMBean {
+
+    /** The name the MBean is registered with */
+    public static final String OBJECT_NAME = "com.kirankunigiri.Sprint:type=SprintMetrics";
+
+    // Pulse times are kept in buckets of 8 per power of two, which keeps percentiles within 12.5%
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    /** The enabled metrics, or null while metrics are off */
+    private static volatile SprintMetrics active;
+
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder colorHits = new LongAdder();
+    private final LongAdder colorMisses = new LongAdder();
+
+    // Only written by the thread that pulses the engine
+    private final long[] pulseTimes = new long[BUCKETS];
+    private volatile long pulseCount;
+    private volatile long pulseTimeMax;
+    private volatile long missedFrames;
+    private volatile long allocatedBytes;
+    private volatile long frameNanos = 16_666_667L;
+
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private SprintMetrics() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            allocations = (com.sun.management.ThreadMXBean) threads;
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            allocations = null;
+        }
+    }
+
+    /**
+     * Turns the metrics on and registers the MBean with the platform MBean server
+     * @return The metrics
+     */
+    public static synchronized SprintMetrics enable() {
+        if (active == null) {
+            SprintMetrics metrics = new SprintMetrics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (InstanceAlreadyExistsException e) {
+                // Registered by another class loader, the metrics still work locally
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+            }
+            active = metrics;
+        }
+        return active;
+    }
+
+    /**
+     * Turns the metrics off and unregisters the MBean
+     */
+    public static synchronized void disable() {
+        if (active != null) {
+            active = null;
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.unregisterMBean(new ObjectName(OBJECT_NAME));
+            } catch (InstanceNotFoundException e) {
+                // Never registered
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not unregister " + OBJECT_NAME, e);
+            }
+        }
+    }
+
+    /**
+     * Get the enabled metrics
+     * @return The metrics, or null if they are off
+     */
+    public static SprintMetrics get() {
+        return active;
+    }
+
+    // Hooks
+
+    static void animationStarted() {
+        SprintMetrics metrics = active;
+        if (metrics != null) {
+            metrics.started.increment();
+            metrics.inFlight.increment();
+        }
+    }
+
+    static void animationCompleted() {
+        SprintMetrics metrics = active;
+        if (metrics != null) {
+            metrics.completed.increment();
+            metrics.inFlight.decrement();
+        }
+    }
+
+    static void animationCancelled() {
+        SprintMetrics metrics = active;
+        if (metrics != null) {
+            metrics.cancelled.increment();
+            metrics.inFlight.decrement();
+        }
+    }
+
+    static void colorCacheHit() {
+        SprintMetrics metrics = active;
+        if (metrics != null) {
+            metrics.colorHits.increment();
+        }
+    }
+
+    static void colorCacheMiss() {
+        SprintMetrics metrics = active;
+        if (metrics != null) {
+            metrics.colorMisses.increment();
+        }
+    }
+
+    /**
+     * Reads the bytes allocated so far by the current thread
+     * @return The allocated bytes, or -1 if the JVM can't report them
+     */
+    long allocatedBytes() {
+        return allocations != null ? allocations.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Records one pulse of the PULSE engine
+     * @param gap Time since the previous pulse of the same engine in nanoseconds, or 0 for its first pulse
+     * @param time Time spent updating animations in nanoseconds
+     * @param allocated Bytes allocated during the pulse, or a negative value if unknown
+     */
+    void pulse(long gap, long time, long allocated) {
+        pulseTimes[bucket(time)]++;
+        pulseCount++;
+        if (time > pulseTimeMax) {
+            pulseTimeMax = time;
+        }
+        long frame = frameNanos;
+        if (gap > frame + frame / 2) {
+            missedFrames += (gap + frame / 2) / frame - 1;
+        }
+        if (allocated > 0) {
+            allocatedBytes += allocated;
+        }
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(value, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min((exponent - 2) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    private static long bucketLimit(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 2;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+
+    private long percentile(double percentile) {
+        long count = 0;
+        for (long bucket : pulseTimes) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += pulseTimes[i];
+            if (seen >= rank) {
+                return Math.min(bucketLimit(i), pulseTimeMax);
+            }
+        }
+        return pulseTimeMax;
+    }
+
+    // MBean attributes
+
+    @Override
+    public long getActiveAnimations() {
+        // Animations started before the metrics were enabled can finish afterwards
+        return Math.max(0, inFlight.sum());
+    }
+
+    @Override
+    public long getAnimationsStarted() {
+        return started.sum();
+    }
+
+    @Override
+    public long getAnimationsCompleted() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getAnimationsCancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public long getPulseCount() {
+        return pulseCount;
+    }
+
+    @Override
+    public long getPulseTimeP50() {
+        return percentile(0.5);
+    }
+
+    @Override
+    public long getPulseTimeP99() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public long getPulseTimeMax() {
+        return pulseTimeMax;
+    }
+
+    @Override
+    public long getMissedFrames() {
+        return missedFrames;
+    }
+
+    @Override
+    public long getAllocatedBytesPerPulse() {
+        long pulses = pulseCount;
+        if (allocations == null) {
+            return -1;
+        }
+        return pulses == 0 ? 0 : allocatedBytes / pulses;
+    }
+
+    @Override
+    public long getColorCacheHits() {
+        return colorHits.sum();
+    }
+
+    @Override
+    public long getColorCacheMisses() {
+        return colorMisses.sum();
+    }
+
+    @Override
+    public double getColorCacheHitRate() {
+        long hits = colorHits.sum();
+        long lookups = hits + colorMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    @Override
+    public void setFrameNanos(long frameNanos) {
+        this.frameNanos = frameNanos;
+    }
+
+    @Override
+    public void reset() {
+        started.reset();
+        completed.reset();
+        cancelled.reset();
+        colorHits.reset();
+        colorMisses.reset();
+        Arrays.fill(pulseTimes, 0);
+        pulseCount = 0;
+        pulseTimeMax = 0;
+        missedFrames = 0;
+        allocatedBytes = 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * The management interface of SprintMetrics, as shown by JMX consoles.
+ */
+
+public interface SprintMetricsMBean {
+
+    /** @return The number of animations currently in flight */
+    long getActiveAnimations();
+
+    /** @return The number of animations started since the metrics were enabled or reset */
+    long getAnimationsStarted();
+
+    /** @return The number of animations that ran to their end */
+    long getAnimationsCompleted();
+
+    /** @return The number of animations that were stopped before their end */
+    long getAnimationsCancelled();
+
+    /** @return The number of pulses handled by the PULSE engine */
+    long getPulseCount();
+
+    /** @return The median time one pulse of the PULSE engine spent updating animations, in nanoseconds */
+    long getPulseTimeP50();
+
+    /** @return The 99th percentile of the time spent per pulse, in nanoseconds */
+    long getPulseTimeP99();
+
+    /** @return The longest time spent in one pulse, in nanoseconds */
+    long getPulseTimeMax();
+
+    /** @return The number of frames missed between two pulses of the PULSE engine */
+    long getMissedFrames();
+
+    /** @return The average number of bytes allocated per pulse, or -1 if the JVM can't report it */
+    long getAllocatedBytesPerPulse();
+
+    /** @return The number of interpolated colors the color tracks found in the color cache */
+    long getColorCacheHits();
+
+    /** @return The number of interpolated colors the color tracks had to create */
+    long getColorCacheMisses();
+
+    /** @return The share of color lookups found in the color cache, between 0 and 1 */
+    double getColorCacheHitRate();
+
+    /** @return The expected time between two pulses in nanoseconds, used to count missed frames */
+    long getFrameNanos();
+
+    /** @param frameNanos The expected time between two pulses in nanoseconds */
+    void setFrameNanos(long frameNanos);
+
+    /** Clears all counters and distributions */
+    void reset();
+}
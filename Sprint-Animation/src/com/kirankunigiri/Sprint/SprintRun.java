@@ -0,0 +1,497 @@
+package com.kirankunigiri.Sprint;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * One played Sprint chain on the shared engine. The tracks of the chain
+ * are laid out on a single time line, where every wait() closes the
+ * current group of tracks and moves the start of the next group.
+ * <p/>
+ * When the run is closed, its tracks are sorted by their start, and every track
+ * knows the latest end of the tracks up to it. A pulse or a seek only visits the
+ * tracks between where the run was and where it is now, found with binary searches,
+ * so long chains of waits cost the same per frame as short ones.
+ */
+
+final class SprintRun implements PulseTask {
+
+    /** Cycle count of a run that loops until it is stopped */
+    static final int INDEFINITE = -1;
+
+    private static final Comparator<Track> BY_START = Comparator.comparingLong(track -> track.start);
+
+    private final SprintEngine engine;
+    private Track[] tracks = new Track[8];
+    private int trackCount;
+    /** For every track in start order, the latest end of the tracks up to it */
+    private long[] reach = new long[8];
+    // Span of the tracks skipped by culling, which are visited again on the next seek
+    private long staleStart;
+    private long staleEnd;
+    /** Decides what happens when the run starts writing a property another run is writing */
+    ConflictPolicy policy;
+    /** Number of tracks another run took over */
+    private int superseded;
+    /** Skip the tracks of nodes that can't be seen until they can be seen again, or until the run ends */
+    boolean culling;
+    private boolean culled;
+    /** Interpolate colors in linear light */
+    boolean linearColor;
+    /** Caches the nodes while their transform is animated, or null */
+    CacheHints cacheHints;
+    /** Writes the transforms of the nodes into one Affine per node, or null to write their properties */
+    TransformWriter transforms;
+
+    // Layout of the chain while it is being built
+    private int groupStart;
+    private long groupDuration;
+    /** Start of the current group in nanoseconds */
+    long cursor;
+    /** End of the latest group laid out so far */
+    private long extent;
+
+    // Playback state
+    private long cycleDuration;
+    private int cycleCount;
+    private boolean autoReverse;
+    private long startTime;
+    /** The engine ticks the run, so its tracks register as the writers of their properties */
+    private boolean ticking;
+    /** Position at startTime, over all cycles */
+    private long base;
+    /** Speed of the run, negative when it plays backwards and 0 when it is paused */
+    private double rate;
+    private long position;
+    private long currentCycle;
+    private long currentTime;
+    private Sprint owner;
+    private Playback playback;
+
+    SprintRun(SprintEngine engine) {
+        this.engine = engine;
+        clear();
+    }
+
+    /**
+     * Starts laying out another chain in the same run, like the next node of a stagger
+     * @param offset Start of the chain in nanoseconds
+     */
+    void begin(long offset) {
+        extent = Math.max(extent, cursor + groupDuration);
+        cursor = offset;
+        groupDuration = 0;
+        groupStart = trackCount;
+    }
+
+    /**
+     * Finds where a new track on a property starts. Like the key frames of a Timeline, a track
+     * continues from the end of an earlier track of the same group on the same property.
+     * @param target The property to animate
+     * @param end The end of the new track in nanoseconds
+     * @return The start of the new track in nanoseconds
+     */
+    long startOf(Object target, long end) {
+        long start = cursor;
+        for (int i = groupStart; i < trackCount; i++) {
+            Track track = tracks[i];
+            if (track.target() == target && track.end() <= end && track.end() > start) {
+                start = track.end();
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Adds a track to the current group
+     * @param track The track to add
+     */
+    void add(Track track) {
+        if (trackCount == tracks.length) {
+            tracks = Arrays.copyOf(tracks, trackCount * 2);
+        }
+        track.run = this;
+        tracks[trackCount++] = track;
+        groupDuration = Math.max(groupDuration, track.end() - cursor);
+    }
+
+    /**
+     * Makes the current group last at least a given time, even if its tracks end earlier
+     * @param duration Length of the group in nanoseconds
+     */
+    void extend(long duration) {
+        groupDuration = Math.max(groupDuration, duration);
+    }
+
+    /**
+     * Closes the current group and starts the next one after a pause
+     * @param pause Length of the pause in nanoseconds
+     */
+    void pause(long pause) {
+        cursor += groupDuration + pause;
+        groupDuration = 0;
+        groupStart = trackCount;
+    }
+
+    /**
+     * Finishes building the run
+     * @param owner The sprint to notify when the run finishes
+     * @param cycleCount The number of cycles, or INDEFINITE
+     * @param autoReverse Whether every second cycle plays backwards
+     */
+    void close(Sprint owner, int cycleCount, boolean autoReverse) {
+        this.owner = owner;
+        this.cycleDuration = Math.max(extent, cursor + groupDuration);
+        this.cycleCount = cycleCount;
+        this.autoReverse = autoReverse;
+
+        // Chained tracks on a property never overlap, so a stable sort keeps them in order
+        Arrays.sort(tracks, 0, trackCount, BY_START);
+        if (reach.length < trackCount) {
+            reach = new long[tracks.length];
+        }
+        long end = Long.MIN_VALUE;
+        for (int i = 0; i < trackCount; i++) {
+            end = Math.max(end, tracks[i].end());
+            reach[i] = end;
+        }
+    }
+
+    /**
+     * Advances the run to the time of a pulse
+     * @param now The time of the pulse in nanoseconds
+     * @return False once the run has finished
+     */
+    @Override
+    public boolean tick(long now) {
+        ticking = true;
+        if (startTime < 0) {
+            startTime = now;
+        }
+        if (superseded == trackCount && trackCount > 0 && !isBlendSource()) {
+            return false;
+        }
+        return apply(base + (long) (rate * (now - startTime)));
+    }
+
+    /**
+     * Moves the run to a position over all of its cycles
+     * @param position Position in nanoseconds, clamped to the length of the run
+     * @return False if the position is at the end the run is playing towards
+     */
+    private boolean apply(long position) {
+        long end = cycleCount == INDEFINITE ? Long.MAX_VALUE : cycleCount * cycleDuration;
+        boolean finished = rate > 0 ? position >= end : rate < 0 && position <= 0;
+        position = Math.max(0, Math.min(end, position));
+        this.position = position;
+        if (cycleDuration == 0) {
+            // Like a key frame at Duration.ZERO, every track is written at its end right away.
+            // Both directions of a cycle without length end at time 0.
+            culled = false;
+            seek(0);
+            return false;
+        }
+
+        long cycle = position / cycleDuration;
+        long time = position - cycle * cycleDuration;
+        if (position == end) {
+            cycle = cycleCount - 1;
+            time = cycleDuration;
+        }
+
+        // The end is always written, so culled nodes don't stay behind
+        culled = culling && !finished;
+
+        // Play out the boundary of the current cycle before moving to another one
+        if (cycle > currentCycle) {
+            seek(isReversed(currentCycle) ? 0 : cycleDuration);
+            currentCycle = cycle;
+        } else if (cycle < currentCycle) {
+            seek(isReversed(currentCycle) ? cycleDuration : 0);
+            currentCycle = cycle;
+        }
+        seek(isReversed(cycle) ? cycleDuration - time : time);
+        return !finished;
+    }
+
+    /**
+     * Jumps to a position. A running run continues from there on its next pulse.
+     * @param position Position in nanoseconds over all cycles
+     */
+    void seekTo(long position) {
+        base = position;
+        startTime = -1;
+        boolean culling = this.culling;
+        this.culling = false;
+        apply(position);
+        this.culling = culling;
+    }
+
+    /**
+     * Turns the direction the run plays in around, continuing from its current position
+     */
+    void reverse() {
+        setRate(-rate);
+    }
+
+    /**
+     * Changes the speed of the run, continuing from its current position
+     * @param rate The new speed, negative to play backwards and 0 to pause
+     */
+    void setRate(double rate) {
+        base = position;
+        this.rate = rate;
+        startTime = -1;
+    }
+
+    /**
+     * Gets the speed of the run
+     * @return The rate, negative when the run plays backwards
+     */
+    double getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets where the run is
+     * @return The position in nanoseconds over all cycles
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Gets the length of the run over all cycles
+     * @return The length in nanoseconds, or INDEFINITE
+     */
+    long length() {
+        return cycleCount == INDEFINITE ? INDEFINITE : cycleCount * cycleDuration;
+    }
+
+    /**
+     * Gives the run a handle, which is notified when the run finishes
+     */
+    void setPlayback(Playback playback) {
+        this.playback = playback;
+    }
+
+    /**
+     * Stops writing a property, because another run took it over
+     * @param target The property
+     */
+    void supersede(Object target) {
+        for (int i = 0; i < trackCount; i++) {
+            Track track = tracks[i];
+            if (track.target() == target && !track.superseded) {
+                track.superseded = true;
+                superseded++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether another run is writing any of the properties of this run
+     * @return True if the run has to wait with the QUEUE policy
+     */
+    boolean isBlocked() {
+        for (int i = 0; i < trackCount; i++) {
+            Track writer = engine.writerOf(tracks[i].target());
+            if (writer != null && writer.run != this) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBlendSource() {
+        for (int i = 0; i < trackCount; i++) {
+            if (tracks[i].blended != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives up all properties the run writes, and lets waiting runs start
+     */
+    void release() {
+        for (int i = 0; i < trackCount; i++) {
+            engine.release(tracks[i]);
+        }
+        restore();
+        superseded = 0;
+        engine.startWaiting();
+    }
+
+    /**
+     * Restores the cache settings and the transform properties of every node the run is animating
+     */
+    void restore() {
+        for (int i = 0; i < trackCount; i++) {
+            tracks[i].unhint();
+            tracks[i].untransform();
+        }
+    }
+
+    private boolean isReversed(long cycle) {
+        return autoReverse && (cycle & 1) == 1;
+    }
+
+    /**
+     * Moves all tracks to a time of the cycle. Only the tracks which overlap the time between
+     * the last time and the new one can change, so only those are visited. They are visited in
+     * the direction of the movement, so that chained tracks on the same property are written in order.
+     */
+    private void seek(long time) {
+        long low = Math.min(time, currentTime);
+        long high = Math.max(time, currentTime);
+        if (staleStart <= staleEnd) {
+            low = Math.min(low, staleStart);
+            high = Math.max(high, staleEnd);
+            staleStart = Long.MAX_VALUE;
+            staleEnd = Long.MIN_VALUE;
+        }
+
+        // The first track reaching the low end, and the last track starting before the high end
+        int first = 0;
+        int last = trackCount;
+        while (first < last) {
+            int middle = (first + last) >>> 1;
+            if (reach[middle] < low) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        last = trackCount;
+        for (int lower = first; lower < last; ) {
+            int middle = (lower + last) >>> 1;
+            if (tracks[middle].start <= high) {
+                lower = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+
+        if (time >= currentTime) {
+            for (int i = first; i < last; i++) {
+                if (tracks[i].end() >= low) {
+                    seek(tracks[i], time);
+                }
+            }
+        } else {
+            for (int i = last - 1; i >= first; i--) {
+                if (tracks[i].end() >= low) {
+                    seek(tracks[i], time);
+                }
+            }
+        }
+        currentTime = time;
+    }
+
+    /**
+     * Moves a track, registering it as the writer of its property the first time it reaches its start.
+     * Superseded tracks are skipped, unless another track still blends from their value.
+     */
+    private void seek(Track track, long time) {
+        if (track.superseded && track.blended == null) {
+            return;
+        }
+        if (culled && engine.culler.isCulled(track.node(), track.property != null && track.property.isTransform())) {
+            staleStart = Math.min(staleStart, track.start);
+            staleEnd = Math.max(staleEnd, track.end());
+            return;
+        }
+        // A stopped run which is sought only writes its properties, so it doesn't hold them against other runs
+        if (!track.claimed && ticking && time >= track.start) {
+            engine.claim(track);
+        }
+        track.seek(time);
+    }
+
+    /**
+     * Notifies the owner of the run, then gives the run and its tracks back to the engine
+     * @param engine The engine that played the run
+     */
+    @Override
+    public void finish(SprintEngine engine) {
+        Playback handle = playback;
+        stop();
+        SprintMetrics.animationCompleted();
+        if (handle != null) {
+            handle.finished();
+        }
+    }
+
+    /**
+     * Stops the run before it finishes, leaving every property at its current value
+     * @return False if the run wasn't running
+     */
+    boolean cancel() {
+        if (!engine.remove(this)) {
+            return false;
+        }
+        stop();
+        SprintMetrics.animationCancelled();
+        return true;
+    }
+
+    /**
+     * Gives up the properties of the run and notifies its owner. The run and its tracks go back to the engine,
+     * unless the handle of the run keeps them to play the run again.
+     */
+    private void stop() {
+        Sprint sprint = owner;
+        ticking = false;
+        release();
+        if (playback != null && playback.keepsRun()) {
+            // Played again from where it stopped
+            base = position;
+            startTime = -1;
+        } else {
+            if (playback != null) {
+                playback.dropRun(position);
+            }
+            for (int i = 0; i < trackCount; i++) {
+                tracks[i].recycle(engine);
+                tracks[i] = null;
+            }
+            clear();
+            engine.runs.recycle(this);
+        }
+        if (sprint != null) {
+            sprint.runFinished();
+        }
+    }
+
+    private void clear() {
+        trackCount = 0;
+        policy = ConflictPolicy.REPLACE;
+        superseded = 0;
+        culling = false;
+        culled = false;
+        linearColor = false;
+        cacheHints = null;
+        transforms = null;
+        groupStart = 0;
+        groupDuration = 0;
+        cursor = 0;
+        extent = 0;
+        cycleDuration = 0;
+        cycleCount = 1;
+        autoReverse = false;
+        startTime = -1;
+        base = 0;
+        rate = 1;
+        staleStart = Long.MAX_VALUE;
+        staleEnd = Long.MIN_VALUE;
+        position = 0;
+        currentCycle = 0;
+        currentTime = 0;
+        owner = null;
+        playback = null;
+    }
+}
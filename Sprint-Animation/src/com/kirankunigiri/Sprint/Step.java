@@ -0,0 +1,75 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * One animated property of an AnimationPlan. A step ends at its duration,
+ * counted from the start of its group, just like a KeyFrame in a Timeline.
+ */
+
+final class Step {
+
+    // How the value of the step is used
+    /** Animates to the value */
+    static final int TO = 0;
+    /** Animates by the value, relative to where the property is when the step starts */
+    static final int BY = 1;
+    /** Sets the property to the value when the plan starts, and animates back to where it was */
+    static final int FROM = 2;
+    /** Like FROM, with the value computed from the scene when the plan starts */
+    static final int SLIDE_LEFT = 3;
+    static final int SLIDE_RIGHT = 4;
+    static final int SLIDE_TOP = 5;
+    static final int SLIDE_BOTTOM = 6;
+
+    /** Index of the node in the plan */
+    final int slot;
+    final AnimatedProperty property;
+    final int mode;
+    /** The value of a numeric step. BY steps of the scale multiply instead of add */
+    final double value;
+    /** The value of a paint step */
+    final Object paint;
+    final int group;
+    /** End of the step in nanoseconds, relative to the start of its group */
+    final long duration;
+    final Interpolator interpolator;
+
+    Step(int slot, AnimatedProperty property, int mode, double value, Object paint, int group, long duration, Interpolator interpolator) {
+        this.slot = slot;
+        this.property = property;
+        this.mode = mode;
+        this.value = value;
+        this.paint = paint;
+        this.group = group;
+        this.duration = duration;
+        this.interpolator = interpolator;
+    }
+
+    /**
+     * Copies the step into another group
+     * @param group The new group
+     * @return The copy
+     */
+    Step inGroup(int group) {
+        return new Step(slot, property, mode, value, paint, group, duration, interpolator);
+    }
+
+    /**
+     * Determine whether the step sets its property when the plan starts
+     * @return True for FROM and slide steps
+     */
+    boolean isFrom() {
+        return mode >= FROM;
+    }
+
+    /**
+     * Determine whether the value of a BY step multiplies the property
+     * @return True for relative scale steps
+     */
+    boolean multiplies() {
+        return property == AnimatedProperty.SCALE_X || property == AnimatedProperty.SCALE_Y;
+    }
+}
@@ -0,0 +1,179 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.scene.Node;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * One animated property inside of a SprintRun. A track knows when it starts
+ * and how long it runs, relative to the start of its run, and only writes
+ * its property when it is active or when it crosses one of its ends.
+ */
+
+abstract class Track {
+
+    private static final int BEFORE = 0;
+    private static final int ACTIVE = 1;
+    private static final int AFTER = 2;
+
+    /** Start of the track in nanoseconds, relative to the start of the run */
+    long start;
+    /** Length of the track in nanoseconds */
+    long duration;
+    Interpolator interpolator;
+    /** The run the track belongs to */
+    SprintRun run;
+    /** The kind of property, for cache hints, or null */
+    AnimatedProperty property;
+
+    // Conflicts with tracks of other runs on the same property
+    /** The track is registered as the writer of its property */
+    boolean claimed;
+    /** Another run took over the property, so the track doesn't write it anymore */
+    boolean superseded;
+    /** The track whose moving value this track starts from */
+    Track source;
+    /** The track which starts from the moving value of this track */
+    Track blended;
+
+    private int phase;
+    private boolean captured;
+    /** The track holds the cache of its node while it is active */
+    private boolean hinting;
+    /** The transform the track writes into instead of its property, while it writes */
+    TransformWriter.State transform;
+
+    /**
+     * Moves the track to a time of its run. Crossing the start of the track writes the start value,
+     * crossing the end writes the end value, and every time in between is interpolated.
+     * @param time Time in nanoseconds, relative to the start of the run
+     */
+    final void seek(long time) {
+        int next = time < start ? BEFORE : time - start >= duration ? AFTER : ACTIVE;
+        if (next == ACTIVE && !hinting && run.cacheHints != null && property != null) {
+            run.cacheHints.acquire(node(), property);
+            hinting = true;
+        } else if (next != ACTIVE) {
+            unhint();
+        }
+        if ((next == ACTIVE || next != phase) && transform == null && run.transforms != null && property != null && property.isTransform()) {
+            transform = run.transforms.acquire(node());
+        }
+        if (next == BEFORE) {
+            if (phase != BEFORE) {
+                reset();
+            }
+        } else {
+            if (!captured) {
+                capture();
+                captured = true;
+            }
+            if (next == ACTIVE) {
+                interpolate((double) (time - start) / duration);
+            } else if (phase != AFTER) {
+                complete();
+            }
+        }
+        phase = next;
+        if (next != ACTIVE) {
+            untransform();
+        }
+    }
+
+    /**
+     * Gives the cache of the node back, if the track holds it
+     */
+    final void unhint() {
+        if (hinting) {
+            run.cacheHints.release(node(), property);
+            hinting = false;
+        }
+    }
+
+    /**
+     * Gives the transform of the node back, if the track holds it
+     */
+    final void untransform() {
+        if (transform != null) {
+            run.transforms.release(transform);
+            transform = null;
+        }
+    }
+
+    /**
+     * Gets the time the track ends at
+     * @return End of the track in nanoseconds, relative to the start of the run
+     */
+    final long end() {
+        return start + duration;
+    }
+
+    /**
+     * Prepares a recycled track for a new animation
+     */
+    final void init(long start, long duration, Interpolator interpolator) {
+        this.start = start;
+        this.duration = duration;
+        this.interpolator = interpolator;
+        this.phase = BEFORE;
+        this.captured = false;
+        this.hinting = false;
+        this.transform = null;
+        this.property = null;
+        this.run = null;
+        this.claimed = false;
+        this.superseded = false;
+        this.source = null;
+        this.blended = null;
+    }
+
+    /**
+     * Makes this track start from the moving value of the track it takes the property over from
+     * @param track The superseded track
+     * @return False if the kind of track can't be blended, so the track simply replaces it
+     */
+    boolean blend(Track track) {
+        return false;
+    }
+
+    /**
+     * Stops following the source track, continuing from the last value it had
+     */
+    void unblend() {
+        source = null;
+    }
+
+    /**
+     * Gets the property the track animates. Every property object belongs to one node, so it identifies both.
+     * @return The property
+     */
+    abstract Object target();
+
+    /**
+     * Gets the node the track animates, which is the bean of its property
+     * @return The node
+     */
+    final Node node() {
+        return (Node) ((ReadOnlyProperty<?>) target()).getBean();
+    }
+
+    /** Reads the start value from the property, the first time the track starts */
+    abstract void capture();
+
+    /**
+     * Writes the interpolated value to the property
+     * @param fraction The linear progress of the track, between 0 and 1
+     */
+    abstract void interpolate(double fraction);
+
+    /** Writes the start value to the property */
+    abstract void reset();
+
+    /** Writes the end value to the property */
+    abstract void complete();
+
+    /** Drops all references and gives the track back to the pool of the engine */
+    abstract void recycle(SprintEngine engine);
+}
@@ -0,0 +1,21 @@
+package com.kirankunigiri.Sprint;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Defines how the PULSE engine mode writes the position, scale and rotation of a node.
+ */
+
+public enum TransformMode {
+    /**
+     * Every animated property of the node is written on its own, like a KeyValue does.
+     */
+    PROPERTIES,
+    /**
+     * While the transform of a node is animated, its translate, scale and rotate properties are moved into one
+     * Affine at the start of its transforms, which is written once per frame with everything that changed.
+     * The properties read 0 (or 1 for scales) while the Affine holds them, and get their values back when the
+     * animation ends. Nodes which rotate around another axis than Z keep writing their properties.
+     */
+    AFFINE
+}
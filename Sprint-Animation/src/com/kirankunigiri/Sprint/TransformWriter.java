@@ -0,0 +1,178 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.transform.Affine;
+import javafx.scene.transform.Rotate;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Writes the transforms of the AFFINE transform mode. While tracks animate the
+ * transform of a node, the node gets an Affine at the start of its transforms,
+ * and its translate, scale and rotate properties are reset. Tracks write into
+ * the state of the node instead, and at the end of the pulse every changed state
+ * is written to its Affine with one call, so moving a node along both axes
+ * invalidates its transform once instead of once per property. When no track
+ * holds a node anymore at the end of the pulse, its properties get their values
+ * back and the Affine is removed. A loop which starts its next cycle in the same
+ * pulse keeps the Affine of its node.
+ */
+
+final class TransformWriter {
+
+    /** The transform of one node while tracks are animating it */
+    final class State {
+        private Node node;
+        private final Affine affine = new Affine();
+        private double translateX;
+        private double translateY;
+        private double scaleX;
+        private double scaleY;
+        private double rotate;
+        private int holders;
+        private boolean dirty;
+
+        /**
+         * Reads a property of the node
+         * @param property A transform property
+         * @return The value the node currently shows
+         */
+        double get(AnimatedProperty property) {
+            switch (property) {
+                case TRANSLATE_X: return translateX;
+                case TRANSLATE_Y: return translateY;
+                case SCALE_X: return scaleX;
+                case SCALE_Y: return scaleY;
+                default: return rotate;
+            }
+        }
+
+        /**
+         * Changes a property of the node, which is written at the end of the pulse
+         * @param property A transform property
+         * @param value The new value
+         */
+        void set(AnimatedProperty property, double value) {
+            switch (property) {
+                case TRANSLATE_X: translateX = value; break;
+                case TRANSLATE_Y: translateY = value; break;
+                case SCALE_X: scaleX = value; break;
+                case SCALE_Y: scaleY = value; break;
+                default: rotate = value; break;
+            }
+            if (!dirty) {
+                dirty = true;
+                changed(this);
+            }
+        }
+
+        /**
+         * Writes the properties to the Affine, in the same order JavaFX applies them to a node:
+         * the translation, then the rotation and the scale around the center of the layout bounds.
+         */
+        private void write() {
+            Bounds bounds = node.getLayoutBounds();
+            double pivotX = (bounds.getMinX() + bounds.getMaxX()) / 2;
+            double pivotY = (bounds.getMinY() + bounds.getMaxY()) / 2;
+            double radians = Math.toRadians(rotate);
+            double cos = Math.cos(radians);
+            double sin = Math.sin(radians);
+            double mxx = cos * scaleX;
+            double mxy = -sin * scaleY;
+            double myx = sin * scaleX;
+            double myy = cos * scaleY;
+            affine.setToTransform(
+                    mxx, mxy, translateX + pivotX - mxx * pivotX - mxy * pivotY,
+                    myx, myy, translateY + pivotY - myx * pivotX - myy * pivotY);
+        }
+    }
+
+    private final IdentityHashMap<Node, State> states = new IdentityHashMap<>();
+    private final Pool<State> pool = new Pool<>(State::new);
+    /** States changed since the last flush */
+    private State[] changed = new State[16];
+    private int changedCount;
+
+    /**
+     * Moves the transform of a node into its Affine, unless it is there already
+     * @param node The node a track starts writing
+     * @return The state of the node, or null if the node rotates around another axis and keeps its properties
+     */
+    State acquire(Node node) {
+        State state = states.get(node);
+        if (state == null) {
+            if (node.getRotationAxis() != Rotate.Z_AXIS) {
+                return null;
+            }
+            state = pool.obtain();
+            state.node = node;
+            state.translateX = node.getTranslateX();
+            state.translateY = node.getTranslateY();
+            state.scaleX = node.getScaleX();
+            state.scaleY = node.getScaleY();
+            state.rotate = node.getRotate();
+            state.write();
+            node.setTranslateX(0);
+            node.setTranslateY(0);
+            node.setScaleX(1);
+            node.setScaleY(1);
+            node.setRotate(0);
+            node.getTransforms().add(0, state.affine);
+            states.put(node, state);
+        }
+        state.holders++;
+        return state;
+    }
+
+    /**
+     * Lets go of the transform of a node. If no track holds the node at the next flush, it gets its properties back.
+     * @param state The state returned by acquire
+     */
+    void release(State state) {
+        if (--state.holders == 0 && !state.dirty) {
+            state.dirty = true;
+            changed(state);
+        }
+    }
+
+    private void changed(State state) {
+        if (changedCount == changed.length) {
+            changed = Arrays.copyOf(changed, changedCount * 2);
+        }
+        changed[changedCount++] = state;
+    }
+
+    /**
+     * Writes every state that changed since the last flush to its Affine
+     */
+    void flush() {
+        for (int i = 0; i < changedCount; i++) {
+            State state = changed[i];
+            changed[i] = null;
+            state.dirty = false;
+            if (state.holders > 0) {
+                state.write();
+            } else {
+                giveBack(state);
+            }
+        }
+        changedCount = 0;
+    }
+
+    private void giveBack(State state) {
+        Node node = state.node;
+        node.setTranslateX(state.translateX);
+        node.setTranslateY(state.translateY);
+        node.setScaleX(state.scaleX);
+        node.setScaleY(state.scaleY);
+        node.setRotate(state.rotate);
+        node.getTransforms().remove(state.affine);
+        states.remove(node);
+        state.node = null;
+        pool.recycle(state);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.beans.value.WritableValue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * A track for any kind of property, interpolated the same way a KeyValue is.
+ * Numeric properties use a DoubleTrack instead.
+ */
+
+final class ValueTrack extends Track {
+
+    private WritableValue<Object> target;
+    private Object from;
+    private Object to;
+
+    @SuppressWarnings("unchecked")
+    ValueTrack set(WritableValue<?> target, Object to, long start, long duration, Interpolator interpolator) {
+        init(start, duration, interpolator);
+        this.target = (WritableValue<Object>) target;
+        this.to = to;
+        return this;
+    }
+
+    @Override
+    Object target() {
+        return target;
+    }
+
+    @Override
+    void capture() {
+        from = target.getValue();
+    }
+
+    @Override
+    void interpolate(double fraction) {
+        target.setValue(interpolator.interpolate(from, to, fraction));
+    }
+
+    @Override
+    void reset() {
+        target.setValue(from);
+    }
+
+    @Override
+    void complete() {
+        target.setValue(to);
+    }
+
+    @Override
+    void recycle(SprintEngine engine) {
+        target = null;
+        from = null;
+        to = null;
+        interpolator = null;
+        engine.valueTracks.recycle(this);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kirankunigiri.Sprint;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Counts the bytes allocated by the current thread, for tests which check that
+ * a steady state doesn't create garbage. Code allocates while it is interpreted
+ * and while the JIT compiles it, so the work is warmed up first.
+ */
+
+final class Allocations {
+
+    /** Most warmup rounds before the work counts as warm anyway */
+    private static final int MAX_WARMUP_ROUNDS = 20;
+
+    private Allocations() {
+    }
+
+    /**
+     * Runs the work until one round of it doesn't allocate, so the JIT has compiled it
+     * @param round One round of the work
+     */
+    static void warmUp(Runnable round) {
+        for (int i = 0; i < MAX_WARMUP_ROUNDS; i++) {
+            if (allocatedBy(round) == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs the work and counts the bytes it allocated. Skips the test if the JVM can't count them.
+     * @param work The work to measure
+     * @return The number of bytes allocated by the current thread while running the work
+     */
+    static long allocatedBy(Runnable work) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "The JVM can't count allocated bytes");
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled(),
+                "The JVM can't count allocated bytes");
+
+        long thread = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        work.run();
+        return allocations.getThreadAllocatedBytes(thread) - before;
+    }
+}
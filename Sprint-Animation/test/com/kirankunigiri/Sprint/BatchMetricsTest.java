@@ -0,0 +1,82 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that a SprintBatch counts as one animation in the metrics, however many tracks it has.
+ */
+
+class BatchMetricsTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private final ManualClock clock = new ManualClock();
+    private final SprintBatch batch = new SprintBatch(16, clock);
+    private SprintMetrics metrics;
+
+    @BeforeEach
+    void enableMetrics() {
+        metrics = SprintMetrics.enable();
+        metrics.reset();
+    }
+
+    @AfterEach
+    void disableMetrics() {
+        SprintMetrics.disable();
+    }
+
+    @Test
+    void finishedBatchIsOneAnimation() {
+        addTracks();
+        assertEquals(1, metrics.getAnimationsStarted());
+        assertEquals(1, metrics.getActiveAnimations());
+
+        clock.advance(0);
+        while (batch.isAnimating()) {
+            clock.advance(FRAME);
+        }
+        assertEquals(1, metrics.getAnimationsCompleted());
+        assertEquals(0, metrics.getActiveAnimations());
+
+        addTracks();
+        assertEquals(2, metrics.getAnimationsStarted());
+    }
+
+    @Test
+    void clearedBatchIsOneCancelledAnimation() {
+        addTracks();
+        clock.advance(0);
+        clock.advance(FRAME);
+        batch.clear();
+        batch.clear();
+
+        assertEquals(1, metrics.getAnimationsCancelled());
+        assertEquals(0, metrics.getAnimationsCompleted());
+        assertEquals(0, metrics.getActiveAnimations());
+    }
+
+    @Test
+    void cancellingSomeNodesKeepsTheBatchRunning() {
+        Rectangle node = new Rectangle(10, 10);
+        batch.moveTo(node, 1, 100, 100);
+        addTracks();
+        batch.cancel(node);
+
+        assertEquals(0, metrics.getAnimationsCancelled());
+        assertEquals(1, metrics.getActiveAnimations());
+    }
+
+    private void addTracks() {
+        for (int i = 0; i < 100; i++) {
+            Rectangle node = new Rectangle(10, 10);
+            batch.moveTo(node, 0.5, 100, 100).fadeTo(node, 0.25, 0);
+        }
+    }
+}
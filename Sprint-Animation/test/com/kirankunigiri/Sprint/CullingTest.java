@@ -0,0 +1,55 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks which tracks the culler skips. Nodes can't be put in a scene without a display,
+ * so the viewport test is checked with the size of the scene passed in.
+ */
+
+class CullingTest {
+
+    private final Culler culler = new Culler();
+    private final Rectangle node = new Rectangle(10, 10);
+    private final Group parent = new Group(node);
+
+    @Test
+    void nodeOutsideOfTheViewportIsNotHidden() {
+        node.setTranslateX(-1000);
+
+        assertTrue(culler.isOutside(node, 800, 600));
+        assertFalse(culler.isHidden(node), "A node flying in from outside of the viewport must keep moving");
+    }
+
+    @Test
+    void invisibleParentHidesTheNode() {
+        parent.setVisible(false);
+
+        assertTrue(culler.isHidden(node));
+        assertFalse(culler.isOutside(node, 800, 600));
+    }
+
+    @Test
+    void movingTracksOfADetachedNodeAreCulled() {
+        assertTrue(culler.isCulled(node, true));
+        assertTrue(culler.isCulled(node, false));
+    }
+
+    @Test
+    void flyInReachesItsEndWithCulling() {
+        ManualClock clock = new ManualClock();
+        new Sprint(node).setClock(clock).setCulling(true).moveFrom(1, -1000, 0).sprint();
+        clock.advance(0);
+        clock.advance(1_000_000_000L);
+
+        assertEquals(0, node.getTranslateX());
+    }
+}
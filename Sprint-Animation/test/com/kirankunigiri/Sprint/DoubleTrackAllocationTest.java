@@ -0,0 +1,45 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that running translate, scale, rotate and opacity animations
+ * don't create garbage, so their values stay primitive on every frame.
+ */
+
+class DoubleTrackAllocationTest {
+
+    private static final long FRAME = 16_666_667L;
+    private static final int TICKS = 10_000;
+    private static final int ANIMATIONS = 100;
+    /** Long enough to run through the warmup and the measured ticks */
+    private static final double DURATION = 1e5;
+
+    @Test
+    void tenThousandTicksOfNumericTracksDontAllocate() {
+        ManualClock clock = new ManualClock();
+        Rectangle[] nodes = new Rectangle[ANIMATIONS];
+        for (int i = 0; i < ANIMATIONS; i++) {
+            nodes[i] = new Rectangle(10, 10);
+            new Sprint(nodes[i])
+                    .setClock(clock)
+                    .moveTo(DURATION, 100 + i, 50)
+                    .scaleTo(DURATION, 2, 2)
+                    .rotateBy(DURATION, 360)
+                    .fadeTo(DURATION, 0.25)
+                    .sprint();
+        }
+
+        Allocations.warmUp(() -> clock.advance(FRAME, TICKS));
+        double x = nodes[0].getTranslateX();
+        assertEquals(0, Allocations.allocatedBy(() -> clock.advance(FRAME, TICKS)),
+                "Bytes allocated by " + TICKS + " ticks of " + ANIMATIONS + " animations");
+        assertNotEquals(x, nodes[0].getTranslateX(), "The animations should still be running");
+    }
+}
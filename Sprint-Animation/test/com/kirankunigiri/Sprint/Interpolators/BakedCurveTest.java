@@ -0,0 +1,119 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that baked curves stay within their maximum error of the analytic curve,
+ * for every interpolator, easing mode and reconstruction.
+ */
+
+class BakedCurveTest {
+
+    /** Evenly spaced samples, which also hit the sample points of the tables */
+    private static final int GRID = 200_000;
+    /** Random samples, which land between the points the table was checked at */
+    private static final int RANDOM = 100_000;
+
+    static List<Supplier<EasingInterpolator>> curves() {
+        List<Supplier<EasingInterpolator>> curves = new ArrayList<>();
+        curves.add(BackInterpolator::new);
+        curves.add(() -> new BackInterpolator(EasingMode.EASE_OUT, 3));
+        curves.add(BounceInterpolator::new);
+        curves.add(CircularInterpolator::new);
+        curves.add(CubicInterpolator::new);
+        curves.add(ElasticInterpolator::new);
+        curves.add(() -> new ElasticInterpolator(EasingMode.EASE_OUT, 2.5, 7));
+        curves.add(ExponentialInterpolator::new);
+        curves.add(QuadraticInterpolator::new);
+        curves.add(QuarticInterpolator::new);
+        curves.add(QuinticInterpolator::new);
+        curves.add(SineInterpolator::new);
+        return curves;
+    }
+
+    static Stream<Arguments> cases() {
+        List<Arguments> cases = new ArrayList<>();
+        for (Supplier<EasingInterpolator> curve : curves()) {
+            for (EasingMode mode : EasingMode.values()) {
+                for (Reconstruction reconstruction : Reconstruction.values()) {
+                    for (double maxError : new double[] {1e-3, 1e-4, 1e-5}) {
+                        EasingInterpolator interpolator = curve.get();
+                        interpolator.setEasingMode(mode);
+                        interpolator.setReconstruction(reconstruction);
+                        interpolator.setMaxError(maxError);
+                        interpolator.setBaked(true);
+                        cases.add(Arguments.of(interpolator.getClass().getSimpleName(), interpolator, mode, reconstruction, maxError));
+                    }
+                }
+            }
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{0} {2} {3} {4}")
+    @MethodSource("cases")
+    void bakedCurveIsWithinMaxError(String name, EasingInterpolator interpolator, EasingMode mode, Reconstruction reconstruction, double maxError) {
+        assertTrue(maxError(interpolator) <= maxError, () -> "Baked curve misses the error of " + maxError
+                + " by " + (maxError(interpolator) - maxError));
+    }
+
+    @Test
+    void tableIsRebuiltWhenTheCurveChanges() {
+        ElasticInterpolator interpolator = new ElasticInterpolator();
+        interpolator.setBaked(true);
+        interpolator.interpolate(0.0, 1.0, 0.5);
+
+        interpolator.setEasingMode(EasingMode.EASE_IN);
+        assertTrue(maxError(interpolator) <= interpolator.getMaxError());
+        interpolator.setAmplitude(2);
+        interpolator.setOscillations(5);
+        assertTrue(maxError(interpolator) <= interpolator.getMaxError());
+        interpolator.setMaxError(1e-6);
+        assertTrue(maxError(interpolator) <= 1e-6);
+    }
+
+    @Test
+    void endsAreExact() {
+        for (Supplier<EasingInterpolator> curve : curves()) {
+            EasingInterpolator interpolator = curve.get();
+            interpolator.setBaked(true);
+            assertEquals(interpolator.analyticCurve(0), interpolator.interpolate(0.0, 1.0, 0.0));
+            assertEquals(interpolator.analyticCurve(1), interpolator.interpolate(0.0, 1.0, 1.0));
+        }
+    }
+
+    /**
+     * Measures the largest difference between the baked and the analytic curve
+     * @param interpolator A baked interpolator
+     * @return The largest absolute difference
+     */
+    private static double maxError(EasingInterpolator interpolator) {
+        double error = 0;
+        for (int i = 0; i <= GRID; i++) {
+            error = Math.max(error, error(interpolator, (double) i / GRID));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < RANDOM; i++) {
+            error = Math.max(error, error(interpolator, random.nextDouble()));
+        }
+        return error;
+    }
+
+    private static double error(EasingInterpolator interpolator, double v) {
+        return Math.abs(interpolator.interpolate(0.0, 1.0, v) - interpolator.analyticCurve(v));
+    }
+}
@@ -0,0 +1,80 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that curving values in bulk gives the same results when the input is overwritten,
+ * also when several threads share one interpolator.
+ */
+
+class BulkCurveTest {
+
+    private static final int VALUES = 10_000;
+
+    @Test
+    void inPlaceCurveMatchesSeparateOutput() {
+        for (Supplier<EasingInterpolator> curve : BakedCurveTest.curves()) {
+            EasingInterpolator interpolator = curve.get();
+            for (EasingMode mode : EasingMode.values()) {
+                interpolator.setEasingMode(mode);
+                double[] in = values(new Random(7));
+                double[] expected = new double[VALUES];
+                interpolator.curve(in, expected, 0, VALUES);
+                interpolator.curve(in, in, 0, VALUES);
+                assertArrayEquals(expected, in, interpolator.getClass().getSimpleName() + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void sharedInterpolatorCurvesOnSeveralThreads() throws Exception {
+        EasingInterpolator shared = new ElasticInterpolator(EasingMode.EASE_BOTH);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int worker = 0; worker < 4; worker++) {
+                // Every worker curves other values, so values curved from another thread's input show up
+                long seed = worker;
+                double[] expected = new double[VALUES];
+                shared.curve(values(new Random(seed)), expected, 0, VALUES);
+                results.add(workers.submit(() -> {
+                    for (int round = 0; round < 500; round++) {
+                        double[] values = values(new Random(seed));
+                        shared.curve(values, values, 0, VALUES);
+                        assertArrayEquals(expected, values);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Random values in both halves, including both ends and the middle
+     */
+    private static double[] values(Random random) {
+        double[] values = new double[VALUES];
+        for (int i = 3; i < VALUES; i++) {
+            values[i] = random.nextDouble();
+        }
+        values[1] = 0.5;
+        values[2] = 1;
+        return values;
+    }
+}
@@ -0,0 +1,61 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that an interpolator follows changes of its properties after it has been used,
+ * like a new interpolator made with the same settings.
+ */
+
+class CurveDispatchTest {
+
+    @Test
+    void curveFollowsItsProperties() {
+        EasingInterpolator reused = new ElasticInterpolator();
+        for (EasingMode mode : EasingMode.values()) {
+            for (boolean baked : new boolean[] {false, true}) {
+                for (boolean frozen : new boolean[] {false, true}) {
+                    reused.setEasingMode(mode);
+                    reused.setBaked(baked);
+                    reused.setFrozen(frozen);
+
+                    EasingInterpolator fresh = new ElasticInterpolator(mode);
+                    fresh.setBaked(baked);
+                    fresh.setFrozen(frozen);
+                    for (int i = 0; i <= 100; i++) {
+                        double v = i / 100.0;
+                        assertEquals(fresh.interpolate(0.0, 1.0, v), reused.interpolate(0.0, 1.0, v),
+                                mode + " baked=" + baked + " frozen=" + frozen + " at " + v);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void elasticFollowsItsParametersAndPrecision() {
+        ElasticInterpolator reused = new ElasticInterpolator();
+        reused.interpolate(0.0, 1.0, 0.5);
+        for (Precision precision : Precision.values()) {
+            for (double amplitude : new double[] {0.5, 1, 3}) {
+                for (double oscillations : new double[] {3, 7}) {
+                    reused.setPrecision(precision);
+                    reused.setAmplitude(amplitude);
+                    reused.setOscillations(oscillations);
+
+                    ElasticInterpolator fresh = new ElasticInterpolator(EasingMode.EASE_OUT, amplitude, oscillations);
+                    fresh.setPrecision(precision);
+                    for (int i = 0; i <= 100; i++) {
+                        double v = i / 100.0;
+                        assertEquals(fresh.interpolate(0.0, 1.0, v), reused.interpolate(0.0, 1.0, v),
+                                precision + " amplitude=" + amplitude + " oscillations=" + oscillations + " at " + v);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.kirankunigiri.Sprint.Interpolators;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Compares the fast precision mode with golden samples of the exact curve over all of [0, 1],
+ * in every easing mode, through the plain, frozen and bulk paths. The tolerances are the errors
+ * documented on {@link Precision}.
+ */
+
+class FastPrecisionTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    static Stream<Arguments> transcendentalCurves() {
+        List<Arguments> cases = new ArrayList<>();
+        for (EasingMode mode : EasingMode.values()) {
+            cases.add(Arguments.of("Exponential", (Supplier<EasingInterpolator>) () -> new ExponentialInterpolator(mode), mode, 1e-7));
+            cases.add(Arguments.of("Sine", (Supplier<EasingInterpolator>) () -> new SineInterpolator(mode), mode, 6e-6));
+            for (double amplitude : new double[] {1, 3}) {
+                for (double oscillations : new double[] {3, 7}) {
+                    cases.add(Arguments.of("Elastic amplitude=" + amplitude + " oscillations=" + oscillations,
+                            (Supplier<EasingInterpolator>) () -> new ElasticInterpolator(mode, amplitude, oscillations),
+                            mode, 6e-6 * amplitude));
+                }
+            }
+        }
+        return cases.stream();
+    }
+
+    @ParameterizedTest(name = "{0} {2}")
+    @MethodSource("transcendentalCurves")
+    void fastCurveIsWithinDocumentedError(String name, Supplier<EasingInterpolator> curve, EasingMode mode, double tolerance) {
+        double[] golden = samples(curve.get(), Precision.EXACT, false);
+        for (boolean frozen : new boolean[] {false, true}) {
+            double[] fast = samples(curve.get(), Precision.FAST, frozen);
+            assertWithin(golden, fast, tolerance, frozen ? "frozen" : "plain");
+        }
+
+        EasingInterpolator bulk = curve.get();
+        bulk.setPrecision(Precision.FAST);
+        double[] values = new double[SAMPLES + 1];
+        for (int i = 0; i <= SAMPLES; i++) {
+            values[i] = (double) i / SAMPLES;
+        }
+        bulk.curve(values, values, 0, values.length);
+        assertWithin(golden, values, tolerance, "bulk");
+    }
+
+    @Test
+    void otherCurvesAreNotAffected() {
+        List<Supplier<EasingInterpolator>> curves = new ArrayList<>();
+        curves.add(BackInterpolator::new);
+        curves.add(BounceInterpolator::new);
+        curves.add(CircularInterpolator::new);
+        curves.add(CubicInterpolator::new);
+        curves.add(QuadraticInterpolator::new);
+        curves.add(QuarticInterpolator::new);
+        curves.add(QuinticInterpolator::new);
+        for (Supplier<EasingInterpolator> curve : curves) {
+            for (EasingMode mode : EasingMode.values()) {
+                EasingInterpolator exact = curve.get();
+                exact.setEasingMode(mode);
+                EasingInterpolator fast = curve.get();
+                fast.setEasingMode(mode);
+                fast.setPrecision(Precision.FAST);
+                for (int i = 0; i <= 1000; i++) {
+                    double v = i / 1000.0;
+                    assertEquals(exact.interpolate(0.0, 1.0, v), fast.interpolate(0.0, 1.0, v), exact.getClass().getSimpleName());
+                }
+            }
+        }
+    }
+
+    @Test
+    void exp2IsWithinRelativeError() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            double x = -60 + 120.0 * i / SAMPLES;
+            double exact = Math.pow(2, x);
+            assertTrue(Math.abs(FastMath.exp2(x) - exact) <= 1.1e-7 * exact, () -> "exp2(" + x + ")");
+        }
+        assertTrue(FastMath.exp2(-1100) == 0, "Powers below -1022 are 0");
+    }
+
+    @Test
+    void sinAndCosAreWithinAbsoluteError() {
+        for (int i = 0; i <= SAMPLES; i++) {
+            double x = -100 + 200.0 * i / SAMPLES;
+            assertTrue(Math.abs(FastMath.sin(x) - Math.sin(x)) <= 6e-6, () -> "sin(" + x + ")");
+            assertTrue(Math.abs(FastMath.cos(x) - Math.cos(x)) <= 6e-6, () -> "cos(" + x + ")");
+        }
+    }
+
+    /**
+     * Samples a curve evenly over [0, 1], including both ends
+     */
+    private static double[] samples(EasingInterpolator interpolator, Precision precision, boolean frozen) {
+        interpolator.setPrecision(precision);
+        interpolator.setFrozen(frozen);
+        double[] samples = new double[SAMPLES + 1];
+        for (int i = 0; i <= SAMPLES; i++) {
+            samples[i] = interpolator.interpolate(0.0, 1.0, (double) i / SAMPLES);
+        }
+        return samples;
+    }
+
+    private static void assertWithin(double[] golden, double[] actual, double tolerance, String path) {
+        double error = 0;
+        int worst = 0;
+        for (int i = 0; i < golden.length; i++) {
+            double difference = Math.abs(actual[i] - golden[i]);
+            if (difference > error) {
+                error = difference;
+                worst = i;
+            }
+        }
+        double v = (double) worst / SAMPLES;
+        double largest = error;
+        assertTrue(largest <= tolerance, () -> path + " curve is off by " + largest + " at " + v + ", tolerance " + tolerance);
+    }
+}
@@ -0,0 +1,59 @@
+package com.kirankunigiri.Sprint;
+
+import com.kirankunigiri.Sprint.Interpolators.BackInterpolator;
+import com.kirankunigiri.Sprint.Interpolators.ElasticInterpolator;
+import com.kirankunigiri.Sprint.Interpolators.SineInterpolator;
+import javafx.animation.Interpolator;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that endless loops don't create garbage once they are warmed up,
+ * both reversing and restarting. Fill and stroke colors come from the color
+ * cache of the engine, so loops fading between a few colors don't create
+ * garbage either, as long as the colors they pass through fit in the cache.
+ */
+
+class LoopAllocationTest {
+
+    /**
+     * Divides every duration, so every cycle passes through the same colors. At other frame lengths a loop
+     * can still come across a color it hasn't passed through before, which is created once and then cached.
+     */
+    private static final long FRAME = 10_000_000L;
+    private static final int TICKS = 1_000_000;
+    private static final int WARMUP_TICKS = 100_000;
+    private static final int ANIMATIONS = 40;
+
+    @ParameterizedTest(name = "autoReverse={0}")
+    @ValueSource(booleans = {true, false})
+    void millionTicksOfLoopsDontAllocate(boolean autoReverse) {
+        ManualClock clock = new ManualClock();
+        Interpolator[] interpolators = {Interpolator.EASE_BOTH, new ElasticInterpolator(), new BackInterpolator(), new SineInterpolator()};
+        for (int i = 0; i < ANIMATIONS; i++) {
+            Rectangle node = new Rectangle(10, 10, Color.WHITE);
+            node.setStroke(Color.BLACK);
+            new Sprint(node)
+                    .setClock(clock)
+                    .setInterpolator(interpolators[i % interpolators.length])
+                    .moveTo(0.5 + i % 5 * 0.1, i, i)
+                    .fadeTo(0.5, 0.5)
+                    .fillColorTo(0.75, Color.DODGERBLUE)
+                    .strokeColorTo(0.5, Color.GOLD)
+                    .wait(0.25)
+                    .rotateBy(1, 90)
+                    .scaleTo(0.75, 1.5, 1.5)
+                    .loop(0, autoReverse);
+        }
+
+        Allocations.warmUp(() -> clock.advance(FRAME, WARMUP_TICKS));
+        assertEquals(0, Allocations.allocatedBy(() -> clock.advance(FRAME, TICKS)),
+                "Bytes allocated by " + TICKS + " ticks of " + ANIMATIONS + " loops");
+    }
+}
@@ -0,0 +1,82 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks the completion stages of playbacks, also when other threads wait for them.
+ */
+
+class PlaybackCompletionTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    void otherThreadsSeeTheCompletion() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 200; i++) {
+                Playback playback = new Sprint(new Rectangle(10, 10)).setClock(clock).moveTo(0.05, 10, 10).sprint();
+                Future<Playback> joined = workers.submit(() -> playback.completion().toCompletableFuture().join());
+                clock.advance(0);
+                while (playback.isRunning()) {
+                    clock.advance(FRAME);
+                }
+                assertSame(playback, joined.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void everyPlayGetsItsOwnCompletion() {
+        AnimationPlan plan = new Sprint(new Rectangle(10, 10)).moveTo(0.1, 10, 10).compile();
+        Playback playback = Sprint.stagger(clock, Collections.singletonList(new Rectangle(10, 10)), 0, plan);
+        CompletableFuture<Playback> first = playback.completion().toCompletableFuture();
+        clock.advance(0);
+        clock.advance(FRAME, 10);
+        assertTrue(first.isDone());
+
+        playback.reverse();
+        CompletableFuture<Playback> second = playback.completion().toCompletableFuture();
+        assertNotSame(first, second);
+        assertFalse(second.isDone());
+        playback.cancel();
+        assertThrows(CancellationException.class, second::join);
+        assertSame(playback, first.join());
+    }
+
+    @Test
+    void callersCannotCompleteTheAnimation() {
+        Playback playback = new Sprint(new Rectangle(10, 10)).setClock(clock).moveTo(0.1, 10, 10).sprint();
+        CompletableFuture<Playback> tampered = playback.completion().toCompletableFuture();
+        tampered.completeExceptionally(new IllegalStateException());
+        tampered.obtrudeValue(null);
+
+        CompletableFuture<Playback> other = playback.completion().toCompletableFuture();
+        assertFalse(other.isDone());
+        clock.advance(0);
+        clock.advance(FRAME, 10);
+        assertSame(playback, other.join());
+        assertSame(playback, Playback.anyOf(playback).toCompletableFuture().join());
+    }
+}
@@ -0,0 +1,58 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that a retained sprint can still be sought and sped up after it finishes,
+ * and that a plain sprint gives its tracks back.
+ */
+
+class RetainedPlaybackTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private final ManualClock clock = new ManualClock();
+    private final Rectangle node = new Rectangle(10, 10);
+
+    @Test
+    void retainedSprintCanBeSoughtAfterItFinishes() {
+        Playback playback = new Sprint(node).setClock(clock).setInterpolator(Interpolator.LINEAR).moveTo(1, 100, 0).sprint().retain();
+        finish(playback);
+
+        playback.seek(0.5);
+        assertEquals(50, node.getTranslateX(), 1e-9);
+        assertFalse(playback.isRunning());
+
+        playback.setRate(-1);
+        playback.reverse();
+        finish(playback);
+        assertEquals(100, node.getTranslateX());
+    }
+
+    @Test
+    void plainSprintGivesItsTracksBack() {
+        Playback playback = new Sprint(node).setClock(clock).moveTo(1, 100, 0).sprint();
+        finish(playback);
+
+        assertThrows(IllegalStateException.class, () -> playback.seek(0.5));
+        assertThrows(IllegalStateException.class, () -> playback.setRate(2));
+        assertThrows(IllegalStateException.class, playback::retain);
+    }
+
+    private void finish(Playback playback) {
+        clock.advance(0);
+        while (playback.isRunning()) {
+            clock.advance(FRAME);
+        }
+        assertTrue(playback.completion().toCompletableFuture().isDone());
+    }
+}
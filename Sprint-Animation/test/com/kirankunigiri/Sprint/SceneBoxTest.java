@@ -0,0 +1,54 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that the culler and SceneBounds measure nodes like JavaFX does.
+ */
+
+class SceneBoxTest {
+
+    private final Rectangle node = new Rectangle(20, 10);
+    private final Group parent = new Group(node);
+
+    SceneBoxTest() {
+        new Group(parent).setTranslateX(30);
+        parent.setRotate(30);
+        parent.setScaleX(2);
+        parent.setTranslateY(-15);
+        node.setTranslateX(5);
+        node.setRotate(45);
+    }
+
+    @Test
+    void boxMatchesLocalToScene() {
+        SceneBox box = new SceneBox();
+        box.transform(parent.getLocalToSceneTransform(), node.getBoundsInParent());
+        assertMatches(box);
+    }
+
+    @Test
+    void sceneBoundsMatchLocalToScene() {
+        SceneBounds bounds = new SceneBounds();
+        bounds.measure(node);
+        assertMatches(bounds);
+    }
+
+    /**
+     * JavaFX keeps bounds in floats, so they only match to float precision
+     */
+    private void assertMatches(SceneBox box) {
+        Bounds expected = parent.localToScene(node.getBoundsInParent());
+        assertEquals(expected.getMinX(), box.minX, 1e-4);
+        assertEquals(expected.getMinY(), box.minY, 1e-4);
+        assertEquals(expected.getMaxX(), box.maxX, 1e-4);
+        assertEquals(expected.getMaxY(), box.maxY, 1e-4);
+    }
+}
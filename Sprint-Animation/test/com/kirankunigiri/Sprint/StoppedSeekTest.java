@@ -0,0 +1,73 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.animation.Interpolator;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that seeking a stopped run writes its properties without holding them,
+ * so later runs on the same properties play under every conflict policy.
+ */
+
+class StoppedSeekTest {
+
+    private static final long FRAME = 16_666_667L;
+
+    private final ManualClock clock = new ManualClock();
+    private final Rectangle node = new Rectangle(10, 10);
+
+    @Test
+    void queuedSprintStartsAfterSeekingAStoppedStagger() {
+        Playback stagger = soughtStagger();
+
+        Playback queued = new Sprint(node).setClock(clock).setConflictPolicy(ConflictPolicy.QUEUE).moveTo(0.5, 200, 0).sprint();
+        play(queued);
+        assertEquals(200, node.getTranslateX());
+        assertFalse(stagger.isRunning());
+    }
+
+    @Test
+    void replacingSprintLeavesTheStaggerPlayable() {
+        Playback stagger = soughtStagger();
+
+        Playback replacing = new Sprint(node).setClock(clock).setConflictPolicy(ConflictPolicy.REPLACE).moveTo(0.5, 200, 0).sprint();
+        play(replacing);
+        assertEquals(200, node.getTranslateX());
+
+        // Plays back to the start, which the stagger only reaches if its tracks weren't taken over
+        stagger.seek(1);
+        assertEquals(100, node.getTranslateX());
+        stagger.reverse();
+        play(stagger);
+        assertEquals(0, node.getTranslateX());
+    }
+
+    /**
+     * Plays a stagger to its end and seeks it back to its middle
+     */
+    private Playback soughtStagger() {
+        AnimationPlan plan = new Sprint(node).setInterpolator(Interpolator.LINEAR).moveTo(1, 100, 0).compile();
+        Playback stagger = Sprint.stagger(clock, Collections.singletonList(node), 0, plan);
+        play(stagger);
+        stagger.seek(0.5);
+        assertEquals(50, node.getTranslateX(), 1e-9);
+        assertNull(clock.engine().writerOf(node.translateXProperty()), "A stopped run doesn't hold its properties");
+        return stagger;
+    }
+
+    private void play(Playback playback) {
+        clock.advance(0);
+        for (int frame = 0; frame < 200 && playback.isRunning(); frame++) {
+            clock.advance(FRAME);
+        }
+        assertFalse(playback.isRunning(), "The animation finishes");
+    }
+}
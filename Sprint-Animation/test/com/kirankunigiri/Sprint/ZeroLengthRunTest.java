@@ -0,0 +1,67 @@
+package com.kirankunigiri.Sprint;
+
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Kiran Kunigiri
+ *
+ * Checks that chains without length write their end values on the first pulse,
+ * like a Timeline applies a key frame at Duration.ZERO.
+ */
+
+class ZeroLengthRunTest {
+
+    private final ManualClock clock = new ManualClock();
+    private final Rectangle node = new Rectangle(10, 10);
+
+    @Test
+    void zeroLengthChainWritesItsEndValues() {
+        Playback playback = new Sprint(node).setClock(clock).moveTo(0, 100, 50).fadeTo(0, 0.25).sprint();
+        clock.advance(0);
+
+        assertEquals(100, node.getTranslateX());
+        assertEquals(50, node.getTranslateY());
+        assertEquals(0.25, node.getOpacity());
+        assertTrue(playback.completion().toCompletableFuture().isDone(), "The run finishes on its first pulse");
+    }
+
+    @Test
+    void zeroLengthReversingLoopWritesItsEndValues() {
+        Playback playback = new Sprint(node).setClock(clock).rotateTo(0, 90).scaleTo(0, 2, 3).loop(2, true);
+        clock.advance(0);
+
+        assertEquals(90, node.getRotate());
+        assertEquals(2, node.getScaleX());
+        assertEquals(3, node.getScaleY());
+        assertTrue(playback.completion().toCompletableFuture().isDone(), "The run finishes on its first pulse");
+    }
+
+    @Test
+    void zeroLengthStaggerWritesEveryNode() {
+        List<Rectangle> nodes = Arrays.asList(new Rectangle(10, 10), new Rectangle(10, 10), new Rectangle(10, 10));
+        AnimationPlan plan = new Sprint(nodes.get(0)).moveTo(0, 30, 40).compile();
+        Sprint.stagger(clock, nodes, 0, plan);
+        clock.advance(0);
+
+        for (Rectangle staggered : nodes) {
+            assertEquals(30, staggered.getTranslateX());
+            assertEquals(40, staggered.getTranslateY());
+        }
+    }
+
+    @Test
+    void culledZeroLengthChainWritesItsEndValues() {
+        new Sprint(node).setClock(clock).setCulling(true).moveTo(0, 100, 50).sprint();
+        clock.advance(0);
+
+        assertTrue(clock.engine().culler.isCulled(node), "A node without a scene is culled");
+        assertEquals(100, node.getTranslateX());
+    }
+}